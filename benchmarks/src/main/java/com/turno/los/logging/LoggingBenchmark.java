@@ -0,0 +1,199 @@
+package com.turno.los.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.turno.los.controller.AgentController;
+import com.turno.los.controller.LoanController;
+import com.turno.los.notification.gateway.LocalStubNotificationProvider;
+import com.turno.los.service.AgentService;
+import com.turno.los.service.LoanService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.logback.LogbackLoggingSystem;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The log calls one loan makes on its way through agent review, replayed
+ * through the application's {@code logback-spring.xml} on the benchmark
+ * thread. The calls are:
+ * <ul>
+ *   <li>submit: 3 INFO lines;</li>
+ *   <li>processing: 3 DEBUG and 2 INFO lines, with loanId/agentId in the MDC;</li>
+ *   <li>four notifications: started, completed, assignment and decision SMS;</li>
+ *   <li>agent decision: 3 INFO lines.</li>
+ * </ul>
+ * The manager notification is left out because it is batched into digests.
+ * Console output is counted and discarded, so terminal speed does not count,
+ * but every line is still formatted and encoded. The bytes written per loan
+ * and any events dropped are printed at the end of each fork.
+ * <p>
+ * Profiles:
+ * <ul>
+ *   <li>{@code dev}: the synchronous pattern console appender.</li>
+ *   <li>{@code prod}: JSON through the async appender, with notification
+ *       sampling, as configured. Only the enqueue runs on this thread. On a
+ *       machine with fewer free cores than the appender's worker needs, the
+ *       queue fills and events are dropped.</li>
+ *   <li>{@code prod-sync}: the same JSON appender and sampling attached
+ *       directly, so this thread encodes and writes every event. That is the
+ *       work the async appender's worker does per loan.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LoggingBenchmark {
+    
+    private static final String LOAN_ID = "LOAN-3F9A1C2E";
+    private static final String CUSTOMER = "Priya Raman";
+    private static final String PHONE = "+14155550123";
+    private static final long AGENT_ID = 42L;
+    private static final String AGENT_NAME = "Agent Smith";
+    private static final BigDecimal AMOUNT = new BigDecimal("750000.00");
+    
+    private static final Logger LOAN_CONTROLLER = LoggerFactory.getLogger(LoanController.class);
+    private static final Logger AGENT_CONTROLLER = LoggerFactory.getLogger(AgentController.class);
+    private static final Logger LOAN_SERVICE = LoggerFactory.getLogger(LoanService.class);
+    private static final Logger AGENT_SERVICE = LoggerFactory.getLogger(AgentService.class);
+    private static final Logger NOTIFICATIONS = LoggerFactory.getLogger(LocalStubNotificationProvider.class);
+    
+    @Param({"dev", "prod-sync", "prod"})
+    private String profile;
+    
+    private PrintStream stdout;
+    private LogbackLoggingSystem loggingSystem;
+    private CountingAsyncAppender asyncAppender;
+    private long loans;
+    private volatile long written;
+    
+    private String processingStarted;
+    private String processingCompleted;
+    private String assignment;
+    private String approvalSms;
+    
+    @Setup(Level.Trial)
+    public void configure() throws IOException {
+        stdout = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                written++;
+            }
+            
+            @Override
+            public void write(byte[] b, int off, int len) {
+                written += len;
+            }
+        }));
+        
+        // application.yml sets the console pattern and levels the dev profile uses
+        StandardEnvironment environment = new StandardEnvironment();
+        List<PropertySource<?>> application = new YamlPropertySourceLoader()
+                .load("application.yml", new ClassPathResource("application.yml"));
+        environment.getPropertySources().addLast(application.get(0));
+        if (profile.startsWith("prod")) {
+            environment.setActiveProfiles("prod");
+        }
+        
+        loggingSystem = new LogbackLoggingSystem(getClass().getClassLoader());
+        loggingSystem.beforeInitialize();
+        loggingSystem.initialize(new LoggingInitializationContext(environment), "classpath:logback-spring.xml", null);
+        
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        asyncAppender = (CountingAsyncAppender) context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender("ASYNC");
+        if (profile.equals("prod-sync")) {
+            ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+            root.addAppender(asyncAppender.getAppender("JSON"));
+            // Detached but not stopped: stopping it would stop the JSON appender too
+            root.detachAppender(asyncAppender);
+            asyncAppender = null;
+        }
+        
+        // Built by MockNotificationService whatever the log level, so not part of the replay
+        processingStarted = String.format("[SYSTEM] Loan processing started at %s\nLoan ID: %s\nCustomer: %s\n" +
+                "Amount: $%,.2f", "2026-10-19 10:15:02", LOAN_ID, CUSTOMER, AMOUNT);
+        processingCompleted = String.format("[SYSTEM] Loan processing completed at %s\nLoan ID: %s\nCustomer: %s\n" +
+                "Final Status: %s\nAmount: $%,.2f", "2026-10-19 10:15:27", LOAN_ID, CUSTOMER, "UNDER_REVIEW", AMOUNT);
+        assignment = String.format("[PUSH NOTIFICATION] Loan assignment notification sent to Agent %s (%s) at %s\n" +
+                "Loan ID: %s\nCustomer: %s\nAmount: $%,.2f\nType: %s",
+                AGENT_NAME, "agent.smith@turno.com", "2026-10-19 10:15:27", LOAN_ID, CUSTOMER, AMOUNT, "HOME");
+        approvalSms = String.format("[SMS] Loan approval notification sent to %s (%s) at %s\nLoan ID: %s\n" +
+                "Status: %s\nAmount: $%,.2f\nMessage: Congratulations! Your loan application has been approved.",
+                CUSTOMER, PHONE, "2026-10-19 11:02:44", LOAN_ID, "APPROVED_BY_AGENT", AMOUNT);
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        loggingSystem.cleanUp();
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        System.setOut(stdout);
+        System.err.printf("%s: %d loans, %d bytes written per loan, %d events dropped%n", profile, loans,
+                written / Math.max(loans, 1), asyncAppender == null ? 0 : asyncAppender.getDroppedCount());
+    }
+    
+    @Benchmark
+    public void reviewedLoan() {
+        loans++;
+        
+        LOAN_CONTROLLER.info("Received loan application request for customer: {}", CUSTOMER);
+        LOAN_SERVICE.info("Submitting loan application for customer: {}", CUSTOMER);
+        LOAN_SERVICE.info("Loan application submitted successfully. Loan ID: {}", LOAN_ID);
+        
+        MDC.put("loanId", LOAN_ID);
+        try {
+            LOAN_SERVICE.debug("Starting processing for loan: {}", LOAN_ID);
+            NOTIFICATIONS.info(processingStarted);
+            AGENT_SERVICE.debug("Attempting to assign loan {} to an available agent", LOAN_ID);
+            AGENT_SERVICE.info("Assigned loan {} to agent {} ({})", LOAN_ID, AGENT_NAME, AGENT_ID);
+            MDC.put("agentId", Long.toString(AGENT_ID));
+            LOAN_SERVICE.debug("Loan {} assigned to agent {}", LOAN_ID, AGENT_ID);
+            NOTIFICATIONS.info(assignment);
+            LOAN_SERVICE.info("Completed processing for loan: {}. Final status: {}", LOAN_ID, "UNDER_REVIEW");
+            NOTIFICATIONS.info(processingCompleted);
+        } finally {
+            MDC.remove("loanId");
+            MDC.remove("agentId");
+        }
+        
+        AGENT_CONTROLLER.info("Received agent decision request. Agent: {}, Loan: {}, Decision: {}",
+                AGENT_ID, LOAN_ID, "APPROVE");
+        MDC.put("loanId", LOAN_ID);
+        MDC.put("agentId", Long.toString(AGENT_ID));
+        try {
+            AGENT_SERVICE.info("Processing agent decision for loan: {} by agent: {}", LOAN_ID, AGENT_ID);
+            AGENT_SERVICE.info("Agent decision processed successfully. Loan: {}, Decision: {}, Status: {}",
+                    LOAN_ID, "APPROVE", "APPROVED_BY_AGENT");
+            NOTIFICATIONS.info(approvalSms);
+        } finally {
+            MDC.remove("loanId");
+            MDC.remove("agentId");
+        }
+    }
+}
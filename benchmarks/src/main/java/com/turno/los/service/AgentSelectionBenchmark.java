@@ -0,0 +1,64 @@
+package com.turno.los.service;
+
+import com.turno.los.entity.Agent;
+import com.turno.los.entity.Loan;
+import com.turno.los.enums.LoanType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AgentService#selectBestAgent} against the list that
+ * {@code findAvailableAgentsForLoanAmount} returns, from the seeded roster
+ * of five up to a large operations team.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AgentSelectionBenchmark {
+    
+    @Param({"5", "50", "500"})
+    public int rosterSize;
+    
+    private List<Agent> availableAgents;
+    private Loan[] loans;
+    private SplittableRandom random;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        availableAgents = new ArrayList<>(rosterSize);
+        for (long id = 1; id <= rosterSize; id++) {
+            availableAgents.add(BenchmarkData.agent(id));
+        }
+        LoanType[] types = LoanType.values();
+        loans = new Loan[types.length];
+        for (int i = 0; i < types.length; i++) {
+            loans[i] = BenchmarkData.loan(i, types[i], new BigDecimal("75000.00"));
+        }
+        random = new SplittableRandom(42);
+    }
+    
+    @Benchmark
+    public Agent selectBestAgent() {
+        Loan loan = loans[next++ % loans.length];
+        return AgentService.selectBestAgent(availableAgents, loan, random);
+    }
+}
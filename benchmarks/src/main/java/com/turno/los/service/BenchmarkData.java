@@ -0,0 +1,56 @@
+package com.turno.los.service;
+
+import com.turno.los.entity.Agent;
+import com.turno.los.entity.Loan;
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fixtures shaped like the rows the application actually handles.
+ */
+final class BenchmarkData {
+    
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+    
+    // Specialization strings as DataInitializer writes them, plus generalists
+    private static final String[] SPECIALIZATIONS = {
+        "HOME,BUSINESS", "PERSONAL,AUTO", "PERSONAL", "AUTO", "BUSINESS", "HOME", null
+    };
+    
+    private BenchmarkData() {
+    }
+    
+    static Loan loan(long id, LoanType type, BigDecimal amount) {
+        Loan loan = new Loan(String.format("LOAN-%08X", id), "Customer " + id,
+                String.format("+1555%07d", id), amount, type);
+        loan.setId(id + 1);
+        loan.setCreatedAt(CREATED_AT);
+        loan.setUpdatedAt(CREATED_AT);
+        return loan;
+    }
+    
+    /**
+     * A loan as it leaves review: every field {@code LoanResponse} carries is set.
+     */
+    static Loan reviewedLoan(long id) {
+        Loan loan = loan(id, LoanType.BUSINESS, new BigDecimal("150000.00"));
+        loan.setStatus(LoanStatus.APPROVED_BY_AGENT);
+        loan.setAssignedAgentId(3L);
+        loan.setProcessingStartedAt(CREATED_AT.plusSeconds(15));
+        loan.setProcessingCompletedAt(CREATED_AT.plusSeconds(40));
+        loan.setDecisionReason("Decision made by agent: Approve");
+        loan.setUpdatedAt(CREATED_AT.plusMinutes(12));
+        return loan;
+    }
+    
+    static Agent agent(long id) {
+        Agent agent = new Agent(String.format("AGENT-%03d", id), "Agent " + id, "agent" + id + "@turno.com");
+        agent.setId(id);
+        agent.setSpecializations(SPECIALIZATIONS[(int) (id % SPECIALIZATIONS.length)]);
+        agent.setMaxLoanAmount(100000.0 + (id % 5) * 100000.0);
+        return agent;
+    }
+}
@@ -0,0 +1,35 @@
+package com.turno.los.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LoanService#generateLoanId}, single-threaded and under contention:
+ * {@code UUID.randomUUID()} draws from a shared {@code SecureRandom}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LoanIdBenchmark {
+    
+    @Benchmark
+    public String generateLoanId() {
+        return LoanService.generateLoanId();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public String generateLoanIdContended() {
+        return LoanService.generateLoanId();
+    }
+}
@@ -0,0 +1,55 @@
+package com.turno.los.service;
+
+import com.turno.los.entity.Loan;
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LoanService#applyBusinessRules} over a mix of loan types and amounts
+ * that exercises every rule, cycled so branch prediction sees a realistic pattern.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LoanRulesBenchmark {
+    
+    private static final int LOANS = 1024;
+    
+    private Loan[] loans;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LoanType[] types = LoanType.values();
+        loans = new Loan[LOANS];
+        for (int i = 0; i < LOANS; i++) {
+            // 500 to 1,200,000: below the minimum, within limits, under review and above the maximum
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(500, 1_200_000), 0).setScale(2);
+            loans[i] = BenchmarkData.loan(i, types[random.nextInt(types.length)], amount);
+        }
+    }
+    
+    @Benchmark
+    public LoanStatus applyBusinessRules() {
+        Loan loan = loans[next++ & (LOANS - 1)];
+        return LoanService.applyBusinessRules(loan);
+    }
+}
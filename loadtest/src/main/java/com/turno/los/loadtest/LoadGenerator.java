@@ -0,0 +1,324 @@
+package com.turno.los.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: loan journeys arrive on a schedule fixed in advance,
+ * independent of how fast the system responds. Each journey submits a loan,
+ * polls its status until processing finishes, and when the loan goes to
+ * review, plays the assigned agent and sends a decision.
+ * <p>
+ * Latencies are measured from when each request was <em>meant</em> to be sent,
+ * not when it actually was. A stalled server therefore shows up as the full
+ * queueing delay its callers would have seen (coordinated omission correction)
+ * rather than as a pause in sending. End-to-end time runs from the intended
+ * submission to the observation of a final status, so it includes up to one
+ * status poll interval of observation delay.
+ */
+public class LoadGenerator {
+    
+    public static final String SUBMIT = "submit";
+    public static final String POLL = "poll";
+    public static final String DECISION = "decision";
+    public static final String END_TO_END = "endToEnd";
+    
+    private static final String[] LOAN_TYPES = {"PERSONAL", "HOME", "AUTO", "BUSINESS"};
+    
+    private final LoadTestOptions options;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService clientExecutor;
+    private final HttpClient client;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "loadtest-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+    private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder arrivals = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final AtomicLong lastCompletionNanos = new AtomicLong();
+    
+    private volatile long measureFromNanos;
+    
+    public LoadGenerator(LoadTestOptions options, URI baseUri) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.clientExecutor = Executors.newFixedThreadPool(options.getClientThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (String operation : new String[] {SUBMIT, POLL, DECISION, END_TO_END}) {
+            recorders.put(operation, new Recorder(3));
+        }
+    }
+    
+    /**
+     * Drive the arrival schedule for warmup plus duration, then wait up to the
+     * drain period for journeys in flight to finish.
+     */
+    public LoadTestResult run() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(options.getSeed());
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.getRate());
+        
+        long start = System.nanoTime();
+        measureFromNanos = start + TimeUnit.SECONDS.toNanos(options.getWarmupSeconds());
+        long end = measureFromNanos + TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+        
+        long intended = start;
+        long sequence = 0;
+        while (intended < end) {
+            // Drawn before sleeping so the workload is the same for a given seed
+            String loanType = LOAN_TYPES[random.nextInt(LOAN_TYPES.length)];
+            BigDecimal amount = amountFor(loanType, random);
+            boolean approve = random.nextDouble() < options.getApproveRatio();
+            
+            waitUntil(intended);
+            if (intended >= measureFromNanos) {
+                arrivals.increment();
+            }
+            if (inFlight.get() >= options.getMaxInFlight()) {
+                shed.increment();
+            } else {
+                submit(new Journey(sequence, intended, intended >= measureFromNanos, loanType, amount, approve));
+            }
+            sequence++;
+            intended += options.isPoisson()
+                    ? (long) (-Math.log(1 - random.nextDouble()) * intervalNanos)
+                    : intervalNanos;
+        }
+        
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.getDrainSeconds());
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        
+        scheduler.shutdownNow();
+        clientExecutor.shutdownNow();
+        
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        long measuredNanos = Math.max(lastCompletionNanos.get(), end) - measureFromNanos;
+        return new LoadTestResult(histograms, snapshot(errors), snapshot(outcomes),
+                arrivals.sum(), shed.sum(), completed.sum(), inFlight.get(),
+                measuredNanos / 1_000_000_000.0);
+    }
+    
+    private void submit(Journey journey) {
+        inFlight.incrementAndGet();
+        String body = String.format("{\"customerName\":\"Load Customer %d\",\"customerPhone\":\"+1555%07d\","
+                + "\"loanAmount\":%s,\"loanType\":\"%s\"}",
+                journey.sequence, journey.sequence % 10_000_000,
+                journey.amount.toPlainString(), journey.loanType);
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("loans"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long now = System.nanoTime();
+            record(SUBMIT, journey, journey.intendedStart, now);
+            if (error != null || response.statusCode() != 201) {
+                fail(journey, SUBMIT, now);
+                return;
+            }
+            try {
+                journey.loanId = parse(response.body()).path("loanId").asText();
+            } catch (IllegalStateException e) {
+                fail(journey, SUBMIT, now);
+                return;
+            }
+            schedulePoll(journey, now + TimeUnit.MILLISECONDS.toNanos(options.getStatusPollIntervalMs()));
+        });
+    }
+    
+    private void schedulePoll(Journey journey, long intended) {
+        schedule(intended, () -> poll(journey, intended));
+    }
+    
+    private void poll(Journey journey, long intended) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("loans/by-loan-id/" + journey.loanId))
+                .GET()
+                .build();
+        
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long now = System.nanoTime();
+            record(POLL, journey, intended, now);
+            long next = intended + TimeUnit.MILLISECONDS.toNanos(options.getStatusPollIntervalMs());
+            if (error != null || response.statusCode() != 200) {
+                errors.computeIfAbsent(POLL, key -> new LongAdder()).increment();
+                schedulePoll(journey, next);
+                return;
+            }
+            
+            JsonNode loan;
+            try {
+                loan = parse(response.body());
+            } catch (IllegalStateException e) {
+                fail(journey, POLL, now);
+                return;
+            }
+            String status = loan.path("status").asText();
+            switch (status) {
+                case "APPLIED" -> schedulePoll(journey, next);
+                case "UNDER_REVIEW" -> {
+                    if (loan.hasNonNull("assignedAgentId")) {
+                        long decisionAt = now + TimeUnit.MILLISECONDS.toNanos(options.getDecisionDelayMs());
+                        long agentId = loan.get("assignedAgentId").asLong();
+                        schedule(decisionAt, () -> decide(journey, agentId, decisionAt));
+                    } else {
+                        finish(journey, "UNASSIGNED", now);
+                    }
+                }
+                default -> finish(journey, status, now);
+            }
+        });
+    }
+    
+    private void decide(Journey journey, long agentId, long intended) {
+        String decision = journey.approve ? "APPROVE" : "REJECT";
+        String body = "{\"decision\":\"" + decision + "\",\"reason\":\"Load test decision\"}";
+        HttpRequest request = HttpRequest.newBuilder(
+                        baseUri.resolve("agents/" + agentId + "/loans/" + journey.loanId + "/decision"))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long now = System.nanoTime();
+            record(DECISION, journey, intended, now);
+            if (error != null || response.statusCode() != 200) {
+                fail(journey, DECISION, now);
+                return;
+            }
+            finish(journey, journey.approve ? "APPROVED_BY_AGENT" : "REJECTED_BY_AGENT", now);
+        });
+    }
+    
+    private void finish(Journey journey, String outcome, long now) {
+        if (journey.measured) {
+            recorders.get(END_TO_END).recordValue(micros(now - journey.intendedStart));
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+            completed.increment();
+            lastCompletionNanos.accumulateAndGet(now, Math::max);
+        }
+        inFlight.decrementAndGet();
+    }
+    
+    private void fail(Journey journey, String operation, long now) {
+        errors.computeIfAbsent(operation, key -> new LongAdder()).increment();
+        if (journey.measured) {
+            outcomes.computeIfAbsent(operation.toUpperCase() + "_FAILED", key -> new LongAdder()).increment();
+        }
+        inFlight.decrementAndGet();
+    }
+    
+    private void record(String operation, Journey journey, long intended, long now) {
+        if (journey.measured) {
+            recorders.get(operation).recordValue(micros(now - intended));
+        }
+    }
+    
+    private void schedule(long intendedNanos, Runnable action) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        scheduler.schedule(action, Math.max(0, intendedNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+    
+    private JsonNode parse(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unparseable response: " + body, e);
+        }
+    }
+    
+    /**
+     * Amounts spread across each type's automatic approval limit, so roughly a
+     * third of loans go to agent review and a few are rejected outright.
+     */
+    private static BigDecimal amountFor(String loanType, SplittableRandom random) {
+        long limit = switch (loanType) {
+            case "PERSONAL" -> 25_000;
+            case "AUTO" -> 50_000;
+            case "BUSINESS" -> 100_000;
+            default -> 200_000;
+        };
+        double amount = random.nextDouble() < 0.02 ? 500 : random.nextDouble(0.1, 1.5) * limit;
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+    
+    private static long micros(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+    
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        counters.forEach((key, value) -> values.put(key, value.sum()));
+        return values;
+    }
+    
+    private static final class Journey {
+        
+        private final long sequence;
+        private final long intendedStart;
+        private final boolean measured;
+        private final String loanType;
+        private final BigDecimal amount;
+        private final boolean approve;
+        private volatile String loanId;
+        
+        private Journey(long sequence, long intendedStart, boolean measured,
+                        String loanType, BigDecimal amount, boolean approve) {
+            this.sequence = sequence;
+            this.intendedStart = intendedStart;
+            this.measured = measured;
+            this.loanType = loanType;
+            this.amount = amount;
+            this.approve = approve;
+        }
+    }
+}
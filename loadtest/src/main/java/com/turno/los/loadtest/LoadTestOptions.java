@@ -0,0 +1,165 @@
+package com.turno.los.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options, as {@code --name=value}. Anything not recognised here
+ * is passed through to the in-process application, so Spring properties such
+ * as {@code --los.processing.delay-max-seconds=1} can be overridden per run.
+ */
+public class LoadTestOptions {
+    
+    private String label = "default";
+    private String target;
+    private double rate = 20;
+    private String arrival = "poisson";
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private int drainSeconds = 60;
+    private long statusPollIntervalMs = 250;
+    private long decisionDelayMs = 100;
+    private double approveRatio = 0.7;
+    private int maxInFlight = 20000;
+    private int clientThreads = 8;
+    private long seed = 42;
+    private Path reportDir = Paths.get("target", "loadtest-reports");
+    private Path compareWith;
+    private final List<String> applicationArgs = new ArrayList<>();
+    
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            switch (name) {
+                case "label" -> options.label = value;
+                case "target" -> options.target = value;
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "arrival" -> options.arrival = value;
+                case "warmup-seconds" -> options.warmupSeconds = Integer.parseInt(value);
+                case "duration-seconds" -> options.durationSeconds = Integer.parseInt(value);
+                case "drain-seconds" -> options.drainSeconds = Integer.parseInt(value);
+                case "status-poll-interval-ms" -> options.statusPollIntervalMs = Long.parseLong(value);
+                case "decision-delay-ms" -> options.decisionDelayMs = Long.parseLong(value);
+                case "approve-ratio" -> options.approveRatio = Double.parseDouble(value);
+                case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "client-threads" -> options.clientThreads = Integer.parseInt(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "report-dir" -> options.reportDir = Paths.get(value);
+                case "compare" -> options.compareWith = Paths.get(value);
+                default -> options.applicationArgs.add(arg);
+            }
+        }
+        options.validate();
+        return options;
+    }
+    
+    private void validate() {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (!arrival.equals("poisson") && !arrival.equals("constant")) {
+            throw new IllegalArgumentException("arrival must be poisson or constant");
+        }
+        if (durationSeconds <= 0 || warmupSeconds < 0 || drainSeconds < 0) {
+            throw new IllegalArgumentException("duration must be positive; warmup and drain must not be negative");
+        }
+        if (approveRatio < 0 || approveRatio > 1) {
+            throw new IllegalArgumentException("approve-ratio must be between 0 and 1");
+        }
+    }
+    
+    /**
+     * @return The settings that shape the workload, recorded in every report
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("target", target != null ? target : "in-process");
+        settings.put("rate", rate);
+        settings.put("arrival", arrival);
+        settings.put("warmupSeconds", warmupSeconds);
+        settings.put("durationSeconds", durationSeconds);
+        settings.put("drainSeconds", drainSeconds);
+        settings.put("statusPollIntervalMs", statusPollIntervalMs);
+        settings.put("decisionDelayMs", decisionDelayMs);
+        settings.put("approveRatio", approveRatio);
+        settings.put("maxInFlight", maxInFlight);
+        settings.put("clientThreads", clientThreads);
+        settings.put("seed", seed);
+        settings.put("applicationArgs", applicationArgs);
+        return settings;
+    }
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    public String getTarget() {
+        return target;
+    }
+    
+    public double getRate() {
+        return rate;
+    }
+    
+    public boolean isPoisson() {
+        return arrival.equals("poisson");
+    }
+    
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+    
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    public int getDrainSeconds() {
+        return drainSeconds;
+    }
+    
+    public long getStatusPollIntervalMs() {
+        return statusPollIntervalMs;
+    }
+    
+    public long getDecisionDelayMs() {
+        return decisionDelayMs;
+    }
+    
+    public double getApproveRatio() {
+        return approveRatio;
+    }
+    
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+    
+    public int getClientThreads() {
+        return clientThreads;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public Path getReportDir() {
+        return reportDir;
+    }
+    
+    public Path getCompareWith() {
+        return compareWith;
+    }
+    
+    public List<String> getApplicationArgs() {
+        return applicationArgs;
+    }
+}
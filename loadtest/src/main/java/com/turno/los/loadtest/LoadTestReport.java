@@ -0,0 +1,166 @@
+package com.turno.los.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes each run as {@code <timestamp>-<label>.json}, with the same fields
+ * every time so runs can be diffed, plus {@code .hlog} with the full
+ * histograms for merging or plotting. Latencies are in milliseconds.
+ */
+public class LoadTestReport {
+    
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final LoadTestOptions options;
+    private final LoadTestResult result;
+    private final Instant startedAt;
+    
+    public LoadTestReport(LoadTestOptions options, LoadTestResult result, Instant startedAt) {
+        this.options = options;
+        this.result = result;
+        this.startedAt = startedAt;
+    }
+    
+    public Map<String, Object> toMap() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", options.getLabel());
+        report.put("startedAt", startedAt.toString());
+        report.put("environment", environment());
+        report.put("settings", options.describe());
+        
+        Map<String, Object> load = new LinkedHashMap<>();
+        load.put("arrivals", result.getArrivals());
+        load.put("offeredRate", round(result.getArrivals() / (double) options.getDurationSeconds()));
+        load.put("shed", result.getShed());
+        load.put("completed", result.getCompleted());
+        load.put("unfinished", result.getUnfinished());
+        load.put("measuredSeconds", round(result.getMeasuredSeconds()));
+        load.put("throughput", round(result.getThroughput()));
+        report.put("load", load);
+        
+        report.put("outcomes", result.getOutcomes());
+        report.put("errors", result.getErrors());
+        
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        result.getLatencies().forEach((operation, histogram) -> latencies.put(operation, summarize(histogram)));
+        report.put("latencyMs", latencies);
+        return report;
+    }
+    
+    public Path write() throws IOException {
+        Files.createDirectories(options.getReportDir());
+        String name = FILE_TIMESTAMP.format(startedAt) + "-" + options.getLabel();
+        Path json = options.getReportDir().resolve(name + ".json");
+        objectMapper.writeValue(json.toFile(), toMap());
+        
+        try (PrintStream out = new PrintStream(Files.newOutputStream(options.getReportDir().resolve(name + ".hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputComment("Latencies in microseconds, measured from intended start");
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            result.getLatencies().forEach((operation, histogram) -> {
+                histogram.setTag(operation);
+                writer.outputIntervalHistogram(histogram);
+            });
+        }
+        return json;
+    }
+    
+    public void print(PrintStream out) {
+        out.println();
+        out.printf("Load test '%s': %.1f/s %s arrivals for %ds after %ds warmup%n", options.getLabel(),
+                options.getRate(), options.isPoisson() ? "poisson" : "constant",
+                options.getDurationSeconds(), options.getWarmupSeconds());
+        out.printf("  arrivals %d, shed %d, completed %d, unfinished %d%n",
+                result.getArrivals(), result.getShed(), result.getCompleted(), result.getUnfinished());
+        out.printf("  throughput %.2f loans/s over %.1fs%n", result.getThroughput(), result.getMeasuredSeconds());
+        out.println("  outcomes " + result.getOutcomes());
+        out.println("  errors   " + result.getErrors());
+        out.printf("  %-10s %9s %9s %9s %9s %9s %9s%n", "ms", "count", "p50", "p90", "p99", "p99.9", "max");
+        result.getLatencies().forEach((operation, histogram) -> out.printf(
+                "  %-10s %9d %9.2f %9.2f %9.2f %9.2f %9.2f%n", operation, histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+    
+    /**
+     * Print how this run differs from an earlier report: throughput and each
+     * latency percentile, as baseline, current and relative change.
+     */
+    public void printComparison(Path baselinePath, PrintStream out) throws IOException {
+        JsonNode baseline = objectMapper.readTree(baselinePath.toFile());
+        JsonNode current = objectMapper.valueToTree(toMap());
+        
+        out.println();
+        out.printf("Compared with '%s' (%s)%n", baseline.path("label").asText(), baselinePath.getFileName());
+        if (!baseline.path("settings").equals(current.path("settings"))
+                || !baseline.path("environment").equals(current.path("environment"))) {
+            out.println("  warning: settings or environment differ from the baseline");
+        }
+        printDelta(out, "throughput", baseline.path("load").path("throughput"), current.path("load").path("throughput"));
+        current.path("latencyMs").fieldNames().forEachRemaining(operation -> {
+            for (String percentile : PERCENTILE_NAMES) {
+                printDelta(out, operation + " " + percentile,
+                        baseline.path("latencyMs").path(operation).path(percentile),
+                        current.path("latencyMs").path(operation).path(percentile));
+            }
+        });
+    }
+    
+    private static void printDelta(PrintStream out, String name, JsonNode before, JsonNode after) {
+        if (!before.isNumber() || !after.isNumber()) {
+            return;
+        }
+        double change = before.asDouble() == 0 ? 0 : (after.asDouble() - before.asDouble()) / before.asDouble() * 100;
+        out.printf("  %-20s %10.2f -> %10.2f  %+7.1f%%%n", name, before.asDouble(), after.asDouble(), change);
+    }
+    
+    private static Map<String, Object> summarize(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("mean", round(histogram.getMean() / 1000));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            summary.put(PERCENTILE_NAMES[i], millis(histogram.getValueAtPercentile(PERCENTILES[i])));
+        }
+        summary.put("max", millis(histogram.getMaxValue()));
+        return summary;
+    }
+    
+    static Map<String, Object> environment() {
+        Runtime runtime = Runtime.getRuntime();
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("java", System.getProperty("java.version"));
+        environment.put("os", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+        environment.put("processors", runtime.availableProcessors());
+        // As an int, so it compares equal to the value read back from an earlier report
+        environment.put("maxHeapMb", (int) (runtime.maxMemory() / (1024 * 1024)));
+        return environment;
+    }
+    
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
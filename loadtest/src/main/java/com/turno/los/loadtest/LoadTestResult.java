@@ -0,0 +1,74 @@
+package com.turno.los.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * Everything a run measured; journeys that arrived during warmup are excluded.
+ */
+public class LoadTestResult {
+    
+    private final Map<String, Histogram> latencies;
+    private final Map<String, Long> errors;
+    private final Map<String, Long> outcomes;
+    private final long arrivals;
+    private final long shed;
+    private final long completed;
+    private final long unfinished;
+    private final double measuredSeconds;
+    
+    public LoadTestResult(Map<String, Histogram> latencies, Map<String, Long> errors, Map<String, Long> outcomes,
+                          long arrivals, long shed, long completed, long unfinished, double measuredSeconds) {
+        this.latencies = latencies;
+        this.errors = errors;
+        this.outcomes = outcomes;
+        this.arrivals = arrivals;
+        this.shed = shed;
+        this.completed = completed;
+        this.unfinished = unfinished;
+        this.measuredSeconds = measuredSeconds;
+    }
+    
+    /**
+     * @return Latency histograms in microseconds, by operation
+     */
+    public Map<String, Histogram> getLatencies() {
+        return latencies;
+    }
+    
+    public Map<String, Long> getErrors() {
+        return errors;
+    }
+    
+    public Map<String, Long> getOutcomes() {
+        return outcomes;
+    }
+    
+    public long getArrivals() {
+        return arrivals;
+    }
+    
+    public long getShed() {
+        return shed;
+    }
+    
+    public long getCompleted() {
+        return completed;
+    }
+    
+    public long getUnfinished() {
+        return unfinished;
+    }
+    
+    public double getMeasuredSeconds() {
+        return measuredSeconds;
+    }
+    
+    /**
+     * @return Loans that reached a final status per second of the measured window
+     */
+    public double getThroughput() {
+        return measuredSeconds > 0 ? completed / measuredSeconds : 0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.turno.los.loadtest;
+
+import com.turno.los.TurnoLosApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application on H2 with the {@code loadtest} profile on a free
+ * port, runs one load test against it and writes the report. With
+ * {@code --target=<base url>} it drives an already running instance instead.
+ * <p>
+ * In-process runs share the machine's CPUs between the generator and the
+ * application, so compare reports only between runs on the same box.
+ */
+public final class LoadTestRunner {
+    
+    private LoadTestRunner() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        
+        ConfigurableApplicationContext context = null;
+        URI baseUri;
+        if (options.getTarget() != null) {
+            String target = options.getTarget();
+            baseUri = URI.create(target.endsWith("/") ? target : target + "/");
+        } else {
+            context = start(options);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            baseUri = URI.create("http://localhost:" + port + contextPath + "/");
+        }
+        
+        int exitCode = 0;
+        try {
+            Instant startedAt = Instant.now();
+            System.out.println("Driving " + baseUri + " with " + options.describe());
+            LoadTestResult result = new LoadGenerator(options, baseUri).run();
+            
+            LoadTestReport report = new LoadTestReport(options, result, startedAt);
+            report.print(System.out);
+            if (options.getCompareWith() != null) {
+                report.printComparison(options.getCompareWith(), System.out);
+            }
+            System.out.println();
+            System.out.println("Report written to " + report.write().toAbsolutePath());
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+    
+    private static ConfigurableApplicationContext start(LoadTestOptions options) throws Exception {
+        // A fresh journal per run, so startup recovery and history never see earlier runs
+        Path journal = Files.createTempDirectory("turno-los-loadtest-journal");
+        List<String> args = new ArrayList<>();
+        // As arguments rather than default properties, which application.yml would override
+        args.add("--server.port=0");
+        args.add("--los.journal.dir=" + journal);
+        args.addAll(options.getApplicationArgs());
+        return new SpringApplicationBuilder(TurnoLosApplication.class)
+                .profiles("loadtest")
+                .run(args.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,448 @@
+package com.turno.los.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.turno.los.TurnoLosApplication;
+import com.turno.los.dto.CursorPage;
+import com.turno.los.dto.LoanCursor;
+import com.turno.los.dto.LoanResponse;
+import com.turno.los.dto.LoanSearchCriteria;
+import com.turno.los.entity.Loan;
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+import com.turno.los.repository.LoanRepository;
+import com.turno.los.repository.LoanResponseRepository;
+import com.turno.los.service.LoanService;
+import jakarta.persistence.EntityManager;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times the read queries against a production-sized database: boots the
+ * application in-process with the {@code seed} profile (1,000,000 loans by
+ * default, see README "Synthetic Data"), without a web server, and runs each
+ * query on the calling thread.
+ * <pre>
+ * java -Xmx3g -cp loadtest/target/loadtest.jar com.turno.los.loadtest.QueryBenchmark --label=baseline
+ * </pre>
+ * Suites, chosen with {@code --suites}:
+ * <ul>
+ *   <li>{@code read-path}: the repository reads behind {@code GET /loans/{id}},
+ *       {@code GET /loans/loan-id/{loanId}} and a {@code GET /loans} page, each
+ *       as a managed {@link Loan} entity mapped to {@link LoanResponse} (as
+ *       before the reads were projected) and as the projection they use now.
+ *       Lookups cycle over 1,000 loans spread across the table.</li>
+ *   <li>{@code paging}: the {@code GET /loans} listing of the largest status at
+ *       increasing page depths, by OFFSET (as the endpoint paged before it
+ *       switched to cursors, with its COUNT query timed separately) and by keyset.</li>
+ *   <li>{@code search}: {@code GET /loans/search} at pages 1, 10 and 100 for
+ *       each filter the index guard accepts: the largest status with a loan
+ *       type, the busiest agent, the busiest customer phone, and the last
+ *       seven days of created-at.</li>
+ * </ul>
+ * Each query is repeated {@code --iterations} times after
+ * {@code --warmup-iterations}. The report has latency percentiles and the
+ * bytes allocated per call on the calling thread, which with the embedded
+ * H2 database includes the database's own work. Any other
+ * {@code --property=value} is passed to the application, e.g.
+ * {@code --los.seed.loans=100000}. The JSON report goes to
+ * {@code target/query-reports}.
+ */
+public final class QueryBenchmark {
+    
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final List<String> ALL_SUITES = List.of("read-path", "paging", "search");
+    private static final int[] PAGE_DEPTHS = {1, 10, 100, 1_000, 10_000};
+    private static final int[] SEARCH_DEPTHS = {1, 10, 100};
+    private static final int LOOKUP_IDS = 1_000;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    
+    private String label = "default";
+    private int iterations = 200;
+    private int warmupIterations = 200;
+    private int pageSize = 20;
+    private Set<String> suites = new LinkedHashSet<>(ALL_SUITES);
+    private Path reportDir = Paths.get("target", "query-reports");
+    private final List<String> applicationArgs = new ArrayList<>();
+    
+    private LoanService loanService;
+    private LoanRepository loanRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private final Map<String, Supplier<?>> queries = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+    
+    private QueryBenchmark() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        QueryBenchmark benchmark = parse(args);
+        Instant startedAt = Instant.now();
+        int exitCode = 0;
+        ConfigurableApplicationContext context = benchmark.start();
+        try {
+            Map<LoanStatus, Long> dataset = benchmark.loanService.getStatusCount();
+            System.out.println("Dataset: " + dataset);
+            for (String suite : benchmark.suites) {
+                switch (suite) {
+                    case "read-path" -> benchmark.readPath(dataset);
+                    case "paging" -> benchmark.paging(dataset);
+                    case "search" -> benchmark.search(dataset);
+                    default -> throw new IllegalStateException(suite);
+                }
+            }
+            benchmark.run();
+            
+            Map<String, Object> report = benchmark.report(startedAt, dataset);
+            benchmark.print();
+            Files.createDirectories(benchmark.reportDir);
+            Path json = benchmark.reportDir.resolve(FILE_TIMESTAMP.format(startedAt) + "-" + benchmark.label + ".json");
+            benchmark.objectMapper.writeValue(json.toFile(), report);
+            System.out.println();
+            System.out.println("Report written to " + json.toAbsolutePath());
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+    
+    private static QueryBenchmark parse(String[] args) {
+        QueryBenchmark benchmark = new QueryBenchmark();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            switch (name) {
+                case "label" -> benchmark.label = value;
+                case "iterations" -> benchmark.iterations = Integer.parseInt(value);
+                case "warmup-iterations" -> benchmark.warmupIterations = Integer.parseInt(value);
+                case "page-size" -> benchmark.pageSize = Integer.parseInt(value);
+                case "suites" -> benchmark.suites = new LinkedHashSet<>(Arrays.asList(value.split(",")));
+                case "report-dir" -> benchmark.reportDir = Paths.get(value);
+                default -> benchmark.applicationArgs.add(arg);
+            }
+        }
+        if (benchmark.iterations <= 0 || benchmark.warmupIterations < 0 || benchmark.pageSize <= 0) {
+            throw new IllegalArgumentException("iterations and page-size must be positive, warmup-iterations not negative");
+        }
+        if (!ALL_SUITES.containsAll(benchmark.suites)) {
+            throw new IllegalArgumentException("suites must be among " + ALL_SUITES);
+        }
+        return benchmark;
+    }
+    
+    private ConfigurableApplicationContext start() throws Exception {
+        Path journal = Files.createTempDirectory("turno-los-query-journal");
+        List<String> args = new ArrayList<>(applicationArgs);
+        addDefault(args, "los.journal.dir", journal.toString());
+        // H2 otherwise hands back the previous result of an identical query on unchanged tables
+        addDefault(args, "spring.datasource.url", "jdbc:h2:mem:turno_los;OPTIMIZE_REUSE_RESULTS=0");
+        // Nothing may move rows while they are being timed: no archiving, and one processing run at startup
+        addDefault(args, "los.archive.enabled", "false");
+        addDefault(args, "los.processing.poll-interval-ms", "86400000");
+        addDefault(args, "los.processing.delay-max-seconds", "0");
+        addDefault(args, "los.processing.delay-min-seconds", "0");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TurnoLosApplication.class)
+                .profiles("seed")
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+        
+        loanService = context.getBean(LoanService.class);
+        loanRepository = context.getBean(LoanRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        return context;
+    }
+    
+    /**
+     * As command-line arguments, which application.yml cannot override, unless given on the command line.
+     */
+    private static void addDefault(List<String> args, String property, String value) {
+        if (args.stream().noneMatch(arg -> arg.startsWith("--" + property + "="))) {
+            args.add("--" + property + "=" + value);
+        }
+    }
+    
+    /**
+     * Entity load plus mapping against the projection, for lookups by ID and
+     * by loanId and for the first page of the largest status. Lookups run
+     * without a surrounding transaction and pages in a read-only one, as the
+     * service methods do.
+     */
+    private void readPath(Map<LoanStatus, Long> dataset) {
+        long[] bounds = readOnly.execute(tx -> {
+            Object[] row = entityManager.createQuery("SELECT MIN(l.id), MAX(l.id) FROM Loan l", Object[].class)
+                    .getSingleResult();
+            return new long[] {(Long) row[0], (Long) row[1]};
+        });
+        long[] ids = new long[LOOKUP_IDS];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = bounds[0] + (bounds[1] - bounds[0]) * i / (ids.length - 1);
+        }
+        
+        int[] entityNext = {0};
+        queries.put("read.by-id.entity", () -> loanRepository.findById(ids[entityNext[0]++ % ids.length])
+                .map(QueryBenchmark::toResponse)
+                .orElseThrow());
+        int[] projectionNext = {0};
+        queries.put("read.by-id.projection", () -> loanRepository.findResponseById(ids[projectionNext[0]++ % ids.length])
+                .orElseThrow());
+        
+        List<String> loanIds = readOnly.execute(tx -> entityManager
+                .createQuery("SELECT l.loanId FROM Loan l WHERE l.id IN :ids", String.class)
+                .setParameter("ids", Arrays.stream(ids).boxed().toList())
+                .getResultList());
+        int[] entityByLoanIdNext = {0};
+        queries.put("read.by-loan-id.entity", () -> loanRepository
+                .findByLoanId(loanIds.get(entityByLoanIdNext[0]++ % loanIds.size()))
+                .map(QueryBenchmark::toResponse)
+                .orElseThrow());
+        int[] projectionByLoanIdNext = {0};
+        queries.put("read.by-loan-id.projection", () -> loanRepository
+                .findResponseByLoanId(loanIds.get(projectionByLoanIdNext[0]++ % loanIds.size()))
+                .orElseThrow());
+        
+        LoanStatus status = largest(dataset);
+        queries.put("read.page.entity", () -> readOnly.execute(tx -> entityManager
+                .createQuery("SELECT l FROM Loan l WHERE l.status = :status "
+                        + "ORDER BY l.status, l.createdAt DESC, l.id DESC", Loan.class)
+                .setParameter("status", status)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream()
+                .map(QueryBenchmark::toResponse)
+                .toList()));
+        queries.put("read.page.projection", () -> readOnly.execute(tx -> loanRepository.findPageByStatus(status, null, pageSize)));
+    }
+    
+    /**
+     * Same copy as LoanService.convertToResponse.
+     */
+    private static LoanResponse toResponse(Loan loan) {
+        return new LoanResponse(loan.getId(), loan.getLoanId(), loan.getCustomerName(), loan.getCustomerPhone(),
+                loan.getLoanAmount(), loan.getLoanType(), loan.getStatus(), loan.getAssignedAgentId(),
+                loan.getProcessingStartedAt(), loan.getProcessingCompletedAt(), loan.getDecisionReason(),
+                loan.getCreatedAt(), loan.getUpdatedAt());
+    }
+    
+    /**
+     * The listing of the largest status, page by page. OFFSET has to walk past
+     * every earlier row; the keyset query seeks straight to the cursor.
+     */
+    private void paging(Map<LoanStatus, Long> dataset) {
+        LoanStatus status = largest(dataset);
+        long rows = dataset.get(status);
+        System.out.printf("Paging %s (%d loans), %d per page%n", status, rows, pageSize);
+        
+        queries.put("paging.count", () -> readOnly.execute(tx -> entityManager
+                .createQuery("SELECT COUNT(l) FROM Loan l WHERE l.status = :status", Long.class)
+                .setParameter("status", status)
+                .getSingleResult()));
+        
+        for (int depth : PAGE_DEPTHS) {
+            int offset = (depth - 1) * pageSize;
+            if (offset >= rows) {
+                break;
+            }
+            queries.put("paging.offset.page-" + depth, () -> readOnly.execute(tx -> offsetPage(status, offset, pageSize)));
+            
+            // The cursor the client would hold after reading the previous page
+            String cursor = null;
+            if (offset > 0) {
+                LoanResponse previous = readOnly.execute(tx -> offsetPage(status, offset - 1, 1)).get(0);
+                cursor = new LoanCursor(previous.getCreatedAt(), previous.getId()).encode();
+            }
+            String after = cursor;
+            queries.put("paging.keyset.page-" + depth, () -> {
+                CursorPage<LoanResponse> page = loanService.getLoansByStatus(status, after, pageSize);
+                if (page.getContent().size() != Math.min(pageSize, rows - offset)) {
+                    throw new IllegalStateException("Keyset page " + depth + " returned " + page.getContent().size());
+                }
+                return page;
+            });
+        }
+    }
+    
+    /**
+     * One search per access path the index guard accepts, each at increasing
+     * page depths. Loan type is a residual filter on the status index.
+     */
+    private void search(Map<LoanStatus, Long> dataset) {
+        LoanSearchCriteria byStatus = new LoanSearchCriteria();
+        byStatus.setStatus(largest(dataset));
+        byStatus.setLoanType(LoanType.PERSONAL);
+        searchPages("status-type", byStatus);
+        
+        LoanSearchCriteria byAgent = new LoanSearchCriteria();
+        byAgent.setAssignedAgentId(busiest("l.assignedAgentId", Long.class));
+        searchPages("agent", byAgent);
+        
+        LoanSearchCriteria byPhone = new LoanSearchCriteria();
+        byPhone.setCustomerPhone(busiest("l.customerPhone", String.class));
+        searchPages("phone", byPhone);
+        
+        LocalDateTime newest = readOnly.execute(tx -> entityManager
+                .createQuery("SELECT MAX(l.createdAt) FROM Loan l", LocalDateTime.class)
+                .getSingleResult());
+        LoanSearchCriteria byCreated = new LoanSearchCriteria();
+        byCreated.setCreatedFrom(newest.minusDays(7));
+        byCreated.setCreatedTo(newest.plusSeconds(1));
+        searchPages("created-7d", byCreated);
+    }
+    
+    /**
+     * Register the search at each of {@link #SEARCH_DEPTHS} it has rows for,
+     * paging through it once to get the cursor of each depth.
+     */
+    private void searchPages(String name, LoanSearchCriteria criteria) {
+        System.out.printf("Search %s: %s%n", name, criteria);
+        String cursor = null;
+        int page = 1;
+        for (int depth : SEARCH_DEPTHS) {
+            for (; page < depth; page++) {
+                cursor = loanService.searchLoans(criteria, cursor, pageSize).getNextCursor();
+                if (cursor == null) {
+                    return;
+                }
+            }
+            String after = cursor;
+            queries.put("search." + name + ".page-" + depth, () -> {
+                CursorPage<LoanResponse> result = loanService.searchLoans(criteria, after, pageSize);
+                if (result.getContent().isEmpty()) {
+                    throw new IllegalStateException("Search " + name + " page " + depth + " is empty");
+                }
+                return result;
+            });
+        }
+    }
+    
+    private static LoanStatus largest(Map<LoanStatus, Long> dataset) {
+        return dataset.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElseThrow()
+                .getKey();
+    }
+    
+    /**
+     * The value of {@code path} shared by the most loans.
+     */
+    private <T> T busiest(String path, Class<T> type) {
+        return readOnly.execute(tx -> entityManager
+                .createQuery("SELECT " + path + " FROM Loan l WHERE " + path + " IS NOT NULL GROUP BY " + path
+                        + " ORDER BY COUNT(l) DESC, " + path, type)
+                .setMaxResults(1)
+                .getSingleResult());
+    }
+    
+    private List<LoanResponse> offsetPage(LoanStatus status, int offset, int limit) {
+        return entityManager.createQuery(LoanResponseRepository.LOAN_RESPONSE_PROJECTION
+                        + "WHERE l.status = :status ORDER BY l.status, l.createdAt DESC, l.id DESC", LoanResponse.class)
+                .setParameter("status", status)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    /**
+     * Warm up every query, round-robin so the code paths they share are
+     * compiled before any is timed, then time each in turn on this thread.
+     */
+    private void run() {
+        System.out.printf("Warming up %d queries, %d calls each%n", queries.size(), warmupIterations);
+        for (int i = 0; i < warmupIterations; i++) {
+            queries.values().forEach(Supplier::get);
+        }
+        queries.forEach(this::measure);
+    }
+    
+    /**
+     * Record the latency and allocation of {@code --iterations} calls.
+     */
+    private void measure(String name, Supplier<?> query) {
+        Histogram histogram = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            long started = System.nanoTime();
+            query.get();
+            histogram.recordValue(Math.min(System.nanoTime() - started, histogram.getHighestTrackableValue()));
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        result.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        result.put("meanMs", round(histogram.getMean() / 1_000_000.0));
+        result.put("maxMs", millis(histogram.getMaxValue()));
+        result.put("allocatedBytesPerCall", allocated / iterations);
+        results.put(name, result);
+        System.out.printf("  %-40s p50 %9.3f ms%n", name, (Double) result.get("p50Ms"));
+    }
+    
+    private Map<String, Object> report(Instant startedAt, Map<LoanStatus, Long> dataset) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("suites", suites);
+        settings.put("iterations", iterations);
+        settings.put("warmupIterations", warmupIterations);
+        settings.put("pageSize", pageSize);
+        settings.put("applicationArgs", applicationArgs);
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("startedAt", startedAt.toString());
+        report.put("environment", LoadTestReport.environment());
+        report.put("settings", settings);
+        report.put("dataset", dataset);
+        report.put("results", results);
+        return report;
+    }
+    
+    private void print() {
+        System.out.println();
+        System.out.printf("Queries '%s', %d iterations%n", label, iterations);
+        System.out.printf("  %-40s %10s %10s %10s %12s%n", "ms", "p50", "p99", "mean", "bytes/call");
+        results.forEach((name, result) -> System.out.printf("  %-40s %10.3f %10.3f %10.3f %12d%n", name,
+                (Double) result.get("p50Ms"), (Double) result.get("p99Ms"), (Double) result.get("meanMs"),
+                (Long) result.get("allocatedBytesPerCall")));
+    }
+    
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
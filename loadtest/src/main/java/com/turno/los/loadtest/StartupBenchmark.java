@@ -0,0 +1,238 @@
+package com.turno.los.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time to first request: starts the application as a fresh JVM,
+ * polls a real endpoint until it answers 200, and stops it again, several
+ * times over. Options come first as {@code --name=value}; everything after
+ * {@code --} is the command that starts the application, to which a free
+ * {@code --server.port} and a fresh {@code --los.journal.dir} are appended.
+ * <pre>
+ * java -cp loadtest/target/loadtest.jar com.turno.los.loadtest.StartupBenchmark --label=baseline \
+ *      -- java -jar target/turno-los-1.0.0-exec.jar
+ * </pre>
+ * Each run is reported as {@code timeToFirstRequestMs}, from process start to
+ * the first 200, and {@code firstRequestMs}, the time the application took to
+ * answer that request. The JSON report goes to {@code target/startup-reports}.
+ */
+public final class StartupBenchmark {
+    
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final String[] METRICS = {"timeToFirstRequestMs", "firstRequestMs"};
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    
+    private String label = "default";
+    private int runs = 5;
+    private int warmupRuns = 1;
+    private int timeoutSeconds = 180;
+    private long pollIntervalMs = 10;
+    private String probe = "/api/v1/loans/status-count";
+    private Path workdir = Paths.get("");
+    private Path reportDir = Paths.get("target", "startup-reports");
+    private Path compareWith;
+    private final List<String> command = new ArrayList<>();
+    
+    private StartupBenchmark() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = parse(args);
+        Instant startedAt = Instant.now();
+        System.out.println("Starting `" + String.join(" ", benchmark.command) + "` "
+                + benchmark.warmupRuns + " + " + benchmark.runs + " times");
+        
+        List<Map<String, Object>> measured = new ArrayList<>();
+        for (int i = 0; i < benchmark.warmupRuns + benchmark.runs; i++) {
+            Map<String, Object> run = benchmark.runOnce();
+            boolean warmup = i < benchmark.warmupRuns;
+            System.out.printf("  %s %d: %s%n", warmup ? "warmup" : "run", i + 1, run);
+            if (!warmup) {
+                measured.add(run);
+            }
+        }
+        
+        Map<String, Object> report = benchmark.report(startedAt, measured);
+        benchmark.print(report);
+        Files.createDirectories(benchmark.reportDir);
+        Path json = benchmark.reportDir.resolve(FILE_TIMESTAMP.format(startedAt) + "-" + benchmark.label + ".json");
+        benchmark.objectMapper.writeValue(json.toFile(), report);
+        System.out.println();
+        System.out.println("Report written to " + json.toAbsolutePath());
+    }
+    
+    private static StartupBenchmark parse(String[] args) {
+        StartupBenchmark benchmark = new StartupBenchmark();
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            throw new IllegalArgumentException("Expected the application command after --");
+        }
+        for (String arg : Arrays.copyOfRange(args, 0, separator)) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            switch (name) {
+                case "label" -> benchmark.label = value;
+                case "runs" -> benchmark.runs = Integer.parseInt(value);
+                case "warmup-runs" -> benchmark.warmupRuns = Integer.parseInt(value);
+                case "timeout-seconds" -> benchmark.timeoutSeconds = Integer.parseInt(value);
+                case "poll-interval-ms" -> benchmark.pollIntervalMs = Long.parseLong(value);
+                case "probe" -> benchmark.probe = value;
+                case "workdir" -> benchmark.workdir = Paths.get(value);
+                case "report-dir" -> benchmark.reportDir = Paths.get(value);
+                case "compare" -> benchmark.compareWith = Paths.get(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (benchmark.runs <= 0 || benchmark.warmupRuns < 0) {
+            throw new IllegalArgumentException("runs must be positive and warmup-runs not negative");
+        }
+        benchmark.command.addAll(Arrays.asList(args).subList(separator + 1, args.length));
+        return benchmark;
+    }
+    
+    private Map<String, Object> runOnce() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Path journal = Files.createTempDirectory("turno-los-startup-journal");
+        Path log = Files.createTempFile("turno-los-startup", ".log");
+        List<String> processCommand = new ArrayList<>(command);
+        processCommand.add("--server.port=" + port);
+        processCommand.add("--los.journal.dir=" + journal);
+        
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + probe))
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .GET()
+                .build();
+        
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(processCommand)
+                .directory(workdir.toAbsolutePath().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = startedAt + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + "; see " + log);
+                }
+                long sentAt = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        long answeredAt = System.nanoTime();
+                        Map<String, Object> run = new LinkedHashMap<>();
+                        run.put("timeToFirstRequestMs", millis(answeredAt - startedAt));
+                        run.put("firstRequestMs", millis(answeredAt - sentAt));
+                        return run;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(pollIntervalMs);
+            }
+            throw new IllegalStateException("No 200 from " + probe + " within " + timeoutSeconds + "s; see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+    
+    private Map<String, Object> report(Instant startedAt, List<Map<String, Object>> measured) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("command", command);
+        settings.put("workdir", workdir.toAbsolutePath().toString());
+        settings.put("probe", probe);
+        settings.put("runs", runs);
+        settings.put("warmupRuns", warmupRuns);
+        
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (String metric : METRICS) {
+            double[] values = measured.stream().mapToDouble(run -> (Double) run.get(metric)).sorted().toArray();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("min", values[0]);
+            stats.put("median", values.length % 2 == 1 ? values[values.length / 2]
+                    : round((values[values.length / 2 - 1] + values[values.length / 2]) / 2));
+            stats.put("mean", round(Arrays.stream(values).average().orElse(0)));
+            stats.put("max", values[values.length - 1]);
+            summary.put(metric, stats);
+        }
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("startedAt", startedAt.toString());
+        report.put("environment", LoadTestReport.environment());
+        report.put("settings", settings);
+        report.put("summary", summary);
+        report.put("runs", measured);
+        return report;
+    }
+    
+    private void print(Map<String, Object> report) throws IOException {
+        JsonNode current = objectMapper.valueToTree(report);
+        JsonNode baseline = compareWith != null ? objectMapper.readTree(compareWith.toFile()) : null;
+        
+        System.out.println();
+        System.out.printf("Startup '%s', %d runs%n", label, runs);
+        System.out.printf("  %-22s %9s %9s %9s %9s%n", "ms", "min", "median", "mean", "max");
+        for (String metric : METRICS) {
+            JsonNode stats = current.path("summary").path(metric);
+            System.out.printf("  %-22s %9.1f %9.1f %9.1f %9.1f%n", metric, stats.path("min").asDouble(),
+                    stats.path("median").asDouble(), stats.path("mean").asDouble(), stats.path("max").asDouble());
+        }
+        if (baseline != null) {
+            System.out.println();
+            System.out.printf("Compared with '%s' (%s), medians%n", baseline.path("label").asText(), compareWith.getFileName());
+            if (!baseline.path("environment").equals(current.path("environment"))) {
+                System.out.println("  warning: environment differs from the baseline");
+            }
+            for (String metric : METRICS) {
+                double before = baseline.path("summary").path(metric).path("median").asDouble();
+                double after = current.path("summary").path(metric).path("median").asDouble();
+                double change = before == 0 ? 0 : (after - before) / before * 100;
+                System.out.printf("  %-22s %9.1f -> %9.1f  %+7.1f%%%n", metric, before, after, change);
+            }
+        }
+    }
+    
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
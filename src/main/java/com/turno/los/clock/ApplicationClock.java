@@ -0,0 +1,37 @@
+package com.turno.los.clock;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Static access to the application's {@link Clock} for code that is not a
+ * Spring bean, such as entity lifecycle callbacks and events. Beans inject
+ * the {@code Clock} directly.
+ * <p>
+ * Holds the system clock until {@code ClockConfig} or the simulation
+ * profile installs the context's clock.
+ */
+public final class ApplicationClock {
+    
+    private static volatile Clock clock = Clock.systemDefaultZone();
+    
+    private ApplicationClock() {
+    }
+    
+    public static Clock get() {
+        return clock;
+    }
+    
+    public static void set(Clock clock) {
+        ApplicationClock.clock = clock;
+    }
+    
+    /**
+     * Current time at microsecond precision, the precision timestamps are
+     * stored at, so a value read back matches the one written.
+     */
+    public static LocalDateTime now() {
+        return LocalDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+    }
+}
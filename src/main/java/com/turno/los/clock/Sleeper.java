@@ -0,0 +1,13 @@
+package com.turno.los.clock;
+
+import java.time.Duration;
+
+/**
+ * Waits out a duration of application time. The default sleeps the calling
+ * thread; the simulation profile advances its virtual clock instead.
+ */
+@FunctionalInterface
+public interface Sleeper {
+    
+    void sleep(Duration duration) throws InterruptedException;
+}
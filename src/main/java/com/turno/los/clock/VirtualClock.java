@@ -0,0 +1,83 @@
+package com.turno.los.clock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * A clock that only moves when told to. Time never runs backwards, so
+ * durations measured against it are never negative.
+ */
+public class VirtualClock extends Clock {
+    
+    private final ZoneId zone;
+    private volatile Instant instant;
+    
+    public VirtualClock(Instant start, ZoneId zone) {
+        this.instant = start;
+        this.zone = zone;
+    }
+    
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+    
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new ZonedView(this, zone);
+    }
+    
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+    
+    /**
+     * Move to the given instant; a no-op if the clock is already past it.
+     */
+    public synchronized void advanceTo(Instant target) {
+        if (target.isAfter(instant)) {
+            instant = target;
+        }
+    }
+    
+    public void advanceBy(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Cannot move a virtual clock backwards: " + duration);
+        }
+        synchronized (this) {
+            instant = instant.plus(duration);
+        }
+    }
+    
+    /**
+     * The same virtual instant seen from another zone.
+     */
+    private static final class ZonedView extends Clock {
+        
+        private final VirtualClock source;
+        private final ZoneId zone;
+        
+        private ZonedView(VirtualClock source, ZoneId zone) {
+            this.source = source;
+            this.zone = zone;
+        }
+        
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+        
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return source.withZone(zone);
+        }
+        
+        @Override
+        public Instant instant() {
+            return source.instant();
+        }
+    }
+}
@@ -1,12 +1,10 @@
 package com.turno.los.config;
 
+import com.turno.los.executor.ResizableThreadPoolTaskExecutor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-import java.util.concurrent.Executor;
 
 
 @Configuration
@@ -19,15 +17,24 @@ public class AsyncConfig {
     @Value("${los.processing.queue-capacity:100}")
     private int queueCapacity;
     
+    @Value("${los.export.max-concurrent:4}")
+    private int mvcAsyncPoolSize;
+    
+    @Value("${los.events.dispatch-threads:4}")
+    private int sseDispatchThreads;
+    
+    @Value("${los.events.max-subscribers:25000}")
+    private int maxSseSubscribers;
+    
     /**
      * Configure the thread pool executor for loan processing.
      * This executor will handle background loan processing tasks.
      * 
-     * @return ThreadPoolTaskExecutor configured for loan processing
+     * @return ResizableThreadPoolTaskExecutor configured for loan processing
      */
     @Bean(name = "loanProcessingExecutor")
-    public Executor loanProcessingExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    public ResizableThreadPoolTaskExecutor loanProcessingExecutor() {
+        ResizableThreadPoolTaskExecutor executor = new ResizableThreadPoolTaskExecutor();
         
         executor.setCorePoolSize(threadPoolSize);
         
@@ -54,11 +61,11 @@ public class AsyncConfig {
      * Configure a separate thread pool for notification processing.
      * This ensures notifications don't block loan processing.
      * 
-     * @return ThreadPoolTaskExecutor configured for notifications
+     * @return ResizableThreadPoolTaskExecutor configured for notifications
      */
     @Bean(name = "notificationExecutor")
-    public Executor notificationExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    public ResizableThreadPoolTaskExecutor notificationExecutor() {
+        ResizableThreadPoolTaskExecutor executor = new ResizableThreadPoolTaskExecutor();
         
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(4);
@@ -73,4 +80,52 @@ public class AsyncConfig {
         
         return executor;
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Configure the thread pool used by Spring MVC for asynchronous request
+     * handling, such as streaming loan exports. Bounded so a burst of export
+     * requests cannot exhaust threads.
+     * 
+     * @return ResizableThreadPoolTaskExecutor configured for async web requests
+     */
+    @Bean(name = "mvcAsyncExecutor")
+    public ResizableThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ResizableThreadPoolTaskExecutor executor = new ResizableThreadPoolTaskExecutor();
+        
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(mvcAsyncPoolSize);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("MvcAsync-");
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setKeepAliveSeconds(60);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        
+        executor.initialize();
+        
+        return executor;
+    }
+    
+    /**
+     * Configure the thread pool that writes buffered events to SSE subscribers.
+     * Queued work is at most one drain task per subscriber, so the queue is
+     * sized to the subscriber limit.
+     * 
+     * @return ResizableThreadPoolTaskExecutor configured for event stream dispatch
+     */
+    @Bean(name = "sseDispatchExecutor")
+    public ResizableThreadPoolTaskExecutor sseDispatchExecutor() {
+        ResizableThreadPoolTaskExecutor executor = new ResizableThreadPoolTaskExecutor();
+        
+        executor.setCorePoolSize(sseDispatchThreads);
+        executor.setMaxPoolSize(sseDispatchThreads);
+        executor.setQueueCapacity(maxSseSubscribers);
+        executor.setThreadNamePrefix("SseDispatch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        
+        executor.initialize();
+        
+        return executor;
+    }
+}
@@ -0,0 +1,43 @@
+package com.turno.los.config;
+
+import com.turno.los.clock.ApplicationClock;
+import com.turno.los.clock.Sleeper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Wall-clock time, real sleeps and unseeded randomness for normal operation.
+ * The {@code simulation} profile replaces all three with virtual, seeded
+ * equivalents; see {@code SimulationConfig}.
+ */
+@Configuration
+@Profile("!simulation")
+public class ClockConfig {
+    
+    @Bean
+    public Clock clock() {
+        Clock clock = Clock.systemDefaultZone();
+        ApplicationClock.set(clock);
+        return clock;
+    }
+    
+    @Bean
+    public Sleeper sleeper() {
+        return duration -> Thread.sleep(duration.toMillis());
+    }
+    
+    /**
+     * Randomness for processing delays and agent selection. Looks up the
+     * calling thread's {@link ThreadLocalRandom} on every draw, so it is
+     * safe to share.
+     */
+    @Bean
+    public RandomGenerator randomGenerator() {
+        return () -> ThreadLocalRandom.current().nextLong();
+    }
+}
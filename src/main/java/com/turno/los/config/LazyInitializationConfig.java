@@ -0,0 +1,38 @@
+package com.turno.los.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Keeps the hot beans eager when the {@code fast-startup} profile turns on
+ * lazy initialization. Controllers are created at startup together with the
+ * services, repositories and caches they depend on, so the first request
+ * does not pay for them. Beans with {@code @Scheduled} methods are created
+ * too, because their schedules are only registered once the bean exists.
+ * Everything else is created on first use.
+ */
+@Configuration
+@Profile("fast-startup")
+public class LazyInitializationConfig {
+    
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (AnnotatedElementUtils.hasAnnotation(beanType, Controller.class) || hasScheduledMethods(beanType));
+    }
+    
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        if (!AnnotationUtils.isCandidateClass(beanType, Scheduled.class)) {
+            return false;
+        }
+        return !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
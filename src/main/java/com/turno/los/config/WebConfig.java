@@ -0,0 +1,47 @@
+package com.turno.los.config;
+
+import com.turno.los.persistence.RequestQueryTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    
+    private final ThreadPoolTaskExecutor mvcAsyncExecutor;
+    private final RequestQueryTracker requestQueryTracker;
+    
+    @Value("${los.export.timeout-ms:600000}")
+    private long asyncRequestTimeoutMs;
+    
+    @Autowired
+    public WebConfig(@Qualifier("mvcAsyncExecutor") ThreadPoolTaskExecutor mvcAsyncExecutor,
+                     RequestQueryTracker requestQueryTracker) {
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+        this.requestQueryTracker = requestQueryTracker;
+    }
+    
+    /**
+     * Run streaming responses on the bounded MVC executor instead of
+     * an unbounded SimpleAsyncTaskExecutor, and allow long exports to finish.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+        configurer.setDefaultTimeout(asyncRequestTimeoutMs);
+    }
+    
+    /**
+     * Track SQL statements per request to flag N+1 query patterns.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestQueryTracker);
+    }
+}
@@ -2,6 +2,7 @@ package com.turno.los.controller;
 
 import com.turno.los.dto.AgentDecisionRequest;
 import com.turno.los.service.AgentService;
+import com.turno.los.service.LoanEventStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,8 +15,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -27,10 +30,12 @@ public class AgentController {
     private static final Logger logger = LoggerFactory.getLogger(AgentController.class);
     
     private final AgentService agentService;
+    private final LoanEventStreamService loanEventStreamService;
     
     @Autowired
-    public AgentController(AgentService agentService) {
+    public AgentController(AgentService agentService, LoanEventStreamService loanEventStreamService) {
         this.agentService = agentService;
+        this.loanEventStreamService = loanEventStreamService;
     }
     
     /**
@@ -104,6 +109,28 @@ public class AgentController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Subscribe to status changes of loans assigned to an agent as Server-Sent Events.
+     * 
+     * @param id The agent ID
+     * @return Event stream of status transitions
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream agent loan status changes", 
+               description = "Server-Sent Events stream of committed status transitions for loans assigned to an agent. " +
+                             "Slow consumers are disconnected and should reconnect.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened"),
+        @ApiResponse(responseCode = "503", description = "Subscriber limit reached")
+    })
+    public ResponseEntity<SseEmitter> streamAgentEvents(
+            @Parameter(description = "Agent ID") @PathVariable Long id) {
+        
+        return loanEventStreamService.subscribeToAgent(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+    
     /**
      * Get agent by agent ID.
      * 
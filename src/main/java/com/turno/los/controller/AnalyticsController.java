@@ -0,0 +1,107 @@
+package com.turno.los.controller;
+
+import com.turno.los.dto.LatencySnapshot;
+import com.turno.los.dto.LoanRollupResponse;
+import com.turno.los.enums.LatencyStage;
+import com.turno.los.enums.LoanType;
+import com.turno.los.enums.RollupGranularity;
+import com.turno.los.service.LoanAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics")
+@Tag(name = "Analytics", description = "APIs for pre-aggregated loan metrics")
+public class AnalyticsController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+    
+    private final LoanAnalyticsService loanAnalyticsService;
+    
+    @Autowired
+    public AnalyticsController(LoanAnalyticsService loanAnalyticsService) {
+        this.loanAnalyticsService = loanAnalyticsService;
+    }
+    
+    /**
+     * Get loan volume and approval rollups per loan type.
+     * 
+     * @param granularity Bucket size
+     * @param from Inclusive start of the range
+     * @param to Exclusive end of the range
+     * @param loanType Optional loan type filter
+     * @return Buckets in the range, oldest first
+     */
+    @GetMapping("/loans")
+    @Operation(summary = "Get loan rollups", 
+               description = "Application volume, average amount and approval rate per loan type, " +
+                             "bucketed by hour or day. Served from pre-aggregated buckets.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rollups retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Empty range or more buckets than los.analytics.max-buckets"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<LoanRollupResponse>> getLoanRollups(
+            @Parameter(description = "Bucket size") @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @Parameter(description = "Range start (ISO-8601)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end, exclusive (ISO-8601)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Loan type") @RequestParam(required = false) LoanType loanType) {
+        
+        try {
+            return ResponseEntity.ok(loanAnalyticsService.getRollups(granularity, from, to, loanType));
+        } catch (IllegalArgumentException e) {
+            logger.debug("Rejected rollup query {} {}..{}: {}", granularity, from, to, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving loan rollups", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Get the latency distribution of a loan pipeline stage.
+     * 
+     * @param stage Stage to report
+     * @param loanType Optional loan type filter
+     * @param agentId Optional agent filter for the review stage, not combined with loanType
+     * @return Percentiles and the encoded histogram
+     */
+    @GetMapping("/latency")
+    @Operation(summary = "Get stage latency", 
+               description = "Percentiles of time spent in QUEUE_WAIT, PROCESSING or AGENT_REVIEW since startup, " +
+                             "with the compressed HdrHistogram for merging across nodes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Latency retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Both loanType and agentId given"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<LatencySnapshot> getLatency(
+            @Parameter(description = "Pipeline stage") @RequestParam LatencyStage stage,
+            @Parameter(description = "Loan type") @RequestParam(required = false) LoanType loanType,
+            @Parameter(description = "Agent ID") @RequestParam(required = false) Long agentId) {
+        
+        try {
+            return ResponseEntity.ok(loanAnalyticsService.getLatency(stage, loanType, agentId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving stage latency", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
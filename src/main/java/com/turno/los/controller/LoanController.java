@@ -1,8 +1,15 @@
 package com.turno.los.controller;
 
+import com.turno.los.dto.CursorPage;
 import com.turno.los.dto.LoanApplicationRequest;
 import com.turno.los.dto.LoanResponse;
+import com.turno.los.dto.LoanSearchCriteria;
+import com.turno.los.dto.LoanTransitionResponse;
+import com.turno.los.enums.ExportFormat;
 import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+import com.turno.los.service.LoanEventStreamService;
+import com.turno.los.service.LoanExportService;
 import com.turno.los.service.LoanService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,16 +19,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,12 +47,18 @@ import java.util.Optional;
 public class LoanController {
     
     private static final Logger logger = LoggerFactory.getLogger(LoanController.class);
+    private static final int MAX_PAGE_SIZE = 100;
     
     private final LoanService loanService;
+    private final LoanExportService loanExportService;
+    private final LoanEventStreamService loanEventStreamService;
     
     @Autowired
-    public LoanController(LoanService loanService) {
+    public LoanController(LoanService loanService, LoanExportService loanExportService,
+                          LoanEventStreamService loanEventStreamService) {
         this.loanService = loanService;
+        this.loanExportService = loanExportService;
+        this.loanEventStreamService = loanEventStreamService;
     }
     
     /**
@@ -78,18 +98,27 @@ public class LoanController {
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get loan by ID", 
-               description = "Retrieve a loan application by its ID")
+               description = "Retrieve a loan application by its ID. Supports If-None-Match.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Loan found",
                     content = @Content(schema = @Schema(implementation = LoanResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Loan unchanged since the given ETag"),
         @ApiResponse(responseCode = "404", description = "Loan not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<LoanResponse> getLoanById(
-            @Parameter(description = "Loan ID") @PathVariable Long id) {
+            @Parameter(description = "Loan ID") @PathVariable Long id,
+            WebRequest request) {
+        
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<LocalDateTime> version = loanService.getLoanVersionById(id);
+            if (version.isPresent() && request.checkNotModified(eTagOf(version.get()))) {
+                return null;
+            }
+        }
         
         Optional<LoanResponse> loan = loanService.getLoanById(id);
-        return loan.map(ResponseEntity::ok)
+        return loan.map(this::withETag)
                   .orElse(ResponseEntity.notFound().build());
     }
     
@@ -101,58 +130,194 @@ public class LoanController {
      */
     @GetMapping("/by-loan-id/{loanId}")
     @Operation(summary = "Get loan by loan ID", 
-               description = "Retrieve a loan application by its loan ID")
+               description = "Retrieve a loan application by its loan ID. Supports If-None-Match.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Loan found",
                     content = @Content(schema = @Schema(implementation = LoanResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Loan unchanged since the given ETag"),
         @ApiResponse(responseCode = "404", description = "Loan not found"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<LoanResponse> getLoanByLoanId(
-            @Parameter(description = "Loan ID") @PathVariable String loanId) {
+            @Parameter(description = "Loan ID") @PathVariable String loanId,
+            WebRequest request) {
+        
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<LocalDateTime> version = loanService.getLoanVersionByLoanId(loanId);
+            if (version.isPresent() && request.checkNotModified(eTagOf(version.get()))) {
+                return null;
+            }
+        }
         
         Optional<LoanResponse> loan = loanService.getLoanByLoanId(loanId);
-        return loan.map(ResponseEntity::ok)
+        return loan.map(this::withETag)
                   .orElse(ResponseEntity.notFound().build());
     }
     
     /**
-     * Get loans by status with pagination.
+     * Get loans by status with keyset pagination.
      * 
      * @param status The loan status
-     * @param page Page number (0-based)
+     * @param cursor Cursor returned with the previous page
      * @param size Page size
-     * @return Page of loan responses
+     * @return Page of loan responses with the cursor for the next page
      */
     @GetMapping
     @Operation(summary = "Get loans by status", 
-               description = "Retrieve loans filtered by status with pagination")
+               description = "Retrieve loans filtered by status, newest first, with cursor-based pagination")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Loans retrieved successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid status parameter"),
+        @ApiResponse(responseCode = "400", description = "Invalid status, cursor or page size"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Page<LoanResponse>> getLoansByStatus(
+    public ResponseEntity<CursorPage<LoanResponse>> getLoansByStatus(
             @Parameter(description = "Loan status") @RequestParam(required = false) LoanStatus status,
-            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
         
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        
         try {
-            Pageable pageable = PageRequest.of(page, size);
-            
             if (status != null) {
-                Page<LoanResponse> loans = loanService.getLoansByStatus(status, pageable);
+                CursorPage<LoanResponse> loans = loanService.getLoansByStatus(status, cursor, size);
                 return ResponseEntity.ok(loans);
             } else {
                 // Return empty page if no status specified
-                return ResponseEntity.ok(Page.empty(pageable));
+                return ResponseEntity.ok(CursorPage.empty(size));
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Error retrieving loans by status", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Search loans by multiple criteria with keyset pagination.
+     * 
+     * @param criteria The search filters
+     * @param cursor Cursor returned with the previous page
+     * @param size Page size
+     * @return Page of matching loans with the cursor for the next page
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search loans", 
+               description = "Search loans by status, type, amount range, creation date range, assigned agent " +
+                             "and customer phone, newest first. Requires status, assignedAgentId, customerPhone " +
+                             "or a bounded createdFrom/createdTo range.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Loans retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid filters, cursor or page size, " +
+                                                         "or a filter combination that would need an unbounded scan"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<CursorPage<LoanResponse>> searchLoans(
+            @ParameterObject LoanSearchCriteria criteria,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            return ResponseEntity.ok(loanService.searchLoans(criteria, cursor, size));
+        } catch (IllegalArgumentException e) {
+            logger.debug("Rejected loan search {}: {}", criteria, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error searching loans", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Stream loans for reconciliation jobs.
+     * 
+     * @param format Output format
+     * @param status Optional status filter
+     * @param loanType Optional loan type filter
+     * @param updatedAfter Optional watermark for incremental pulls
+     * @return Streaming NDJSON or CSV body
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export loans", 
+               description = "Stream all matching loans as NDJSON or CSV, ordered by updatedAt. " +
+                             "Includes loans moved to the archive table. " +
+                             "Pass the last updatedAt seen as updatedAfter for incremental pulls.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid filter parameter")
+    })
+    public ResponseEntity<StreamingResponseBody> exportLoans(
+            @Parameter(description = "Output format") @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Loan status") @RequestParam(required = false) LoanStatus status,
+            @Parameter(description = "Loan type") @RequestParam(required = false) LoanType loanType,
+            @Parameter(description = "Only loans updated after this time (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedAfter) {
+        
+        StreamingResponseBody body = out -> loanExportService.export(format, status, loanType, updatedAfter, out);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"loans." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+    
+    /**
+     * Subscribe to status changes of a loan as Server-Sent Events.
+     * 
+     * @param loanId The loan ID
+     * @return Event stream of status transitions
+     */
+    @GetMapping(value = "/{loanId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream loan status changes", 
+               description = "Server-Sent Events stream of committed status transitions for a loan. " +
+                             "Slow consumers are disconnected and should reconnect.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened"),
+        @ApiResponse(responseCode = "503", description = "Subscriber limit reached")
+    })
+    public ResponseEntity<SseEmitter> streamLoanEvents(
+            @Parameter(description = "Loan ID") @PathVariable String loanId) {
+        
+        return loanEventStreamService.subscribeToLoan(loanId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+    
+    /**
+     * Get the audit history of a loan's status transitions.
+     * 
+     * @param loanId The loan ID
+     * @return Transitions, oldest first
+     */
+    @GetMapping("/{loanId}/history")
+    @Operation(summary = "Get loan status history", 
+               description = "Every journaled status transition of a loan, with who made it, when and why")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "History retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "No transitions journaled for the loan"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<LoanTransitionResponse>> getLoanHistory(
+            @Parameter(description = "Loan ID") @PathVariable String loanId) {
+        
+        try {
+            List<LoanTransitionResponse> history = loanService.getLoanHistory(loanId);
+            if (history.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(history);
+        } catch (Exception e) {
+            logger.error("Error retrieving history for loan {}", loanId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Get loan status count.
      * 
@@ -178,22 +343,47 @@ public class LoanController {
     /**
      * Get top customers by approved loan count.
      * 
+     * @param k Number of customers to return
      * @return List of top customers
      */
     @GetMapping("/customers/top")
     @Operation(summary = "Get top customers", 
-               description = "Retrieve top 3 customers with most approved loans")
+               description = "Retrieve the top K customers with most approved loans")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Top customers retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "K outside the supported range"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<Map<String, Object>>> getTopCustomers() {
+    public ResponseEntity<List<Map<String, Object>>> getTopCustomers(
+            @Parameter(description = "Number of customers") @RequestParam(defaultValue = "3") int k) {
+        
+        if (k < 1 || k > loanService.getMaxTopCustomers()) {
+            return ResponseEntity.badRequest().build();
+        }
+        
         try {
-            List<Map<String, Object>> topCustomers = loanService.getTopCustomers();
+            List<Map<String, Object>> topCustomers = loanService.getTopCustomers(k);
             return ResponseEntity.ok(topCustomers);
         } catch (Exception e) {
             logger.error("Error retrieving top customers", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-} 
\ No newline at end of file
+    
+    private ResponseEntity<LoanResponse> withETag(LoanResponse loan) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (loan.getUpdatedAt() != null) {
+            builder.eTag(eTagOf(loan.getUpdatedAt()));
+        }
+        return builder.body(loan);
+    }
+    
+    /**
+     * Strong ETag for a loan representation, derived from its last modification time
+     * truncated to the microsecond precision the database stores.
+     */
+    private static String eTagOf(LocalDateTime updatedAt) {
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updatedAt.getNano() / 1_000;
+        return "\"" + Long.toHexString(micros) + "\"";
+    }
+}
@@ -0,0 +1,124 @@
+package com.turno.los.dto;
+
+import com.turno.los.enums.LatencyStage;
+import com.turno.los.enums.LoanType;
+
+
+/**
+ * Latency distribution for a stage, in milliseconds. {@code histogram} is the
+ * base64 compressed HdrHistogram, which can be decoded and merged with
+ * snapshots from other nodes.
+ */
+public class LatencySnapshot {
+    
+    private LatencyStage stage;
+    private LoanType loanType;
+    private Long agentId;
+    private long count;
+    private long minMs;
+    private long maxMs;
+    private double meanMs;
+    private long p50Ms;
+    private long p90Ms;
+    private long p99Ms;
+    private long p999Ms;
+    private String histogram;
+    
+    public LatencySnapshot() {}
+    
+    public LatencyStage getStage() {
+        return stage;
+    }
+    
+    public void setStage(LatencyStage stage) {
+        this.stage = stage;
+    }
+    
+    public LoanType getLoanType() {
+        return loanType;
+    }
+    
+    public void setLoanType(LoanType loanType) {
+        this.loanType = loanType;
+    }
+    
+    public Long getAgentId() {
+        return agentId;
+    }
+    
+    public void setAgentId(Long agentId) {
+        this.agentId = agentId;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+    
+    public long getMinMs() {
+        return minMs;
+    }
+    
+    public void setMinMs(long minMs) {
+        this.minMs = minMs;
+    }
+    
+    public long getMaxMs() {
+        return maxMs;
+    }
+    
+    public void setMaxMs(long maxMs) {
+        this.maxMs = maxMs;
+    }
+    
+    public double getMeanMs() {
+        return meanMs;
+    }
+    
+    public void setMeanMs(double meanMs) {
+        this.meanMs = meanMs;
+    }
+    
+    public long getP50Ms() {
+        return p50Ms;
+    }
+    
+    public void setP50Ms(long p50Ms) {
+        this.p50Ms = p50Ms;
+    }
+    
+    public long getP90Ms() {
+        return p90Ms;
+    }
+    
+    public void setP90Ms(long p90Ms) {
+        this.p90Ms = p90Ms;
+    }
+    
+    public long getP99Ms() {
+        return p99Ms;
+    }
+    
+    public void setP99Ms(long p99Ms) {
+        this.p99Ms = p99Ms;
+    }
+    
+    public long getP999Ms() {
+        return p999Ms;
+    }
+    
+    public void setP999Ms(long p999Ms) {
+        this.p999Ms = p999Ms;
+    }
+    
+    public String getHistogram() {
+        return histogram;
+    }
+    
+    public void setHistogram(String histogram) {
+        this.histogram = histogram;
+    }
+}
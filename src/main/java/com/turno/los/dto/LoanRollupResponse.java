@@ -0,0 +1,100 @@
+package com.turno.los.dto;
+
+import com.turno.los.enums.LoanType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+
+public class LoanRollupResponse {
+    
+    private LocalDateTime bucketStart;
+    private LoanType loanType;
+    private long appliedCount;
+    private BigDecimal totalAmount;
+    private BigDecimal averageAmount;
+    private long approvedCount;
+    private long rejectedCount;
+    private Double approvalRate;
+    
+    public LoanRollupResponse() {}
+    
+    public LoanRollupResponse(LocalDateTime bucketStart, LoanType loanType, long appliedCount,
+                              BigDecimal totalAmount, BigDecimal averageAmount,
+                              long approvedCount, long rejectedCount, Double approvalRate) {
+        this.bucketStart = bucketStart;
+        this.loanType = loanType;
+        this.appliedCount = appliedCount;
+        this.totalAmount = totalAmount;
+        this.averageAmount = averageAmount;
+        this.approvedCount = approvedCount;
+        this.rejectedCount = rejectedCount;
+        this.approvalRate = approvalRate;
+    }
+    
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+    
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+    
+    public LoanType getLoanType() {
+        return loanType;
+    }
+    
+    public void setLoanType(LoanType loanType) {
+        this.loanType = loanType;
+    }
+    
+    public long getAppliedCount() {
+        return appliedCount;
+    }
+    
+    public void setAppliedCount(long appliedCount) {
+        this.appliedCount = appliedCount;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    public BigDecimal getAverageAmount() {
+        return averageAmount;
+    }
+    
+    public void setAverageAmount(BigDecimal averageAmount) {
+        this.averageAmount = averageAmount;
+    }
+    
+    public long getApprovedCount() {
+        return approvedCount;
+    }
+    
+    public void setApprovedCount(long approvedCount) {
+        this.approvedCount = approvedCount;
+    }
+    
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+    
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+    
+    /**
+     * Approved share of decisions made in the bucket; null if none were made.
+     */
+    public Double getApprovalRate() {
+        return approvalRate;
+    }
+    
+    public void setApprovalRate(Double approvalRate) {
+        this.approvalRate = approvalRate;
+    }
+}
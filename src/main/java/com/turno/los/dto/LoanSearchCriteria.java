@@ -0,0 +1,107 @@
+package com.turno.los.dto;
+
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filters for {@code GET /loans/search}. All fields are optional and combined with AND.
+ */
+public class LoanSearchCriteria {
+    
+    private LoanStatus status;
+    private LoanType loanType;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+    
+    private Long assignedAgentId;
+    private String customerPhone;
+    
+    public LoanSearchCriteria() {}
+    
+    public LoanStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(LoanStatus status) {
+        this.status = status;
+    }
+    
+    public LoanType getLoanType() {
+        return loanType;
+    }
+    
+    public void setLoanType(LoanType loanType) {
+        this.loanType = loanType;
+    }
+    
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+    
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+    
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+    
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+    
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+    
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+    
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+    
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+    
+    public Long getAssignedAgentId() {
+        return assignedAgentId;
+    }
+    
+    public void setAssignedAgentId(Long assignedAgentId) {
+        this.assignedAgentId = assignedAgentId;
+    }
+    
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+    
+    public void setCustomerPhone(String customerPhone) {
+        this.customerPhone = customerPhone;
+    }
+    
+    @Override
+    public String toString() {
+        return "LoanSearchCriteria{" +
+                "status=" + status +
+                ", loanType=" + loanType +
+                ", minAmount=" + minAmount +
+                ", maxAmount=" + maxAmount +
+                ", createdFrom=" + createdFrom +
+                ", createdTo=" + createdTo +
+                ", assignedAgentId=" + assignedAgentId +
+                '}';
+    }
+}
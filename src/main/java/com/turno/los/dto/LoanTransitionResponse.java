@@ -0,0 +1,97 @@
+package com.turno.los.dto;
+
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.TransitionActor;
+import java.time.LocalDateTime;
+
+
+public class LoanTransitionResponse {
+    
+    private long sequence;
+    private LocalDateTime occurredAt;
+    private LoanStatus previousStatus;
+    private LoanStatus newStatus;
+    private TransitionActor actor;
+    private Long actorAgentId;
+    private Long assignedAgentId;
+    private String reason;
+    
+    public LoanTransitionResponse() {}
+    
+    public LoanTransitionResponse(long sequence, LocalDateTime occurredAt, LoanStatus previousStatus,
+                                  LoanStatus newStatus, TransitionActor actor, Long actorAgentId,
+                                  Long assignedAgentId, String reason) {
+        this.sequence = sequence;
+        this.occurredAt = occurredAt;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.actor = actor;
+        this.actorAgentId = actorAgentId;
+        this.assignedAgentId = assignedAgentId;
+        this.reason = reason;
+    }
+    
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+    
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+    
+    public LoanStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public void setPreviousStatus(LoanStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+    
+    public LoanStatus getNewStatus() {
+        return newStatus;
+    }
+    
+    public void setNewStatus(LoanStatus newStatus) {
+        this.newStatus = newStatus;
+    }
+    
+    public TransitionActor getActor() {
+        return actor;
+    }
+    
+    public void setActor(TransitionActor actor) {
+        this.actor = actor;
+    }
+    
+    public Long getActorAgentId() {
+        return actorAgentId;
+    }
+    
+    public void setActorAgentId(Long actorAgentId) {
+        this.actorAgentId = actorAgentId;
+    }
+    
+    public Long getAssignedAgentId() {
+        return assignedAgentId;
+    }
+    
+    public void setAssignedAgentId(Long assignedAgentId) {
+        this.assignedAgentId = assignedAgentId;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+    
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
@@ -1,9 +1,8 @@
 package com.turno.los.entity;
 
+import com.turno.los.clock.ApplicationClock;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -62,11 +61,9 @@ public class Agent {
     @Size(max = 500, message = "Specializations must not exceed 500 characters")
     private String specializations;
     
-    @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
-    @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
@@ -79,6 +76,17 @@ public class Agent {
         this.status = AgentStatus.ACTIVE;
     }
     
+    @PrePersist
+    protected void onCreate() {
+        createdAt = ApplicationClock.now();
+        updatedAt = createdAt;
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = ApplicationClock.now();
+    }
+    
     public Long getId() {
         return id;
     }
@@ -0,0 +1,126 @@
+package com.turno.los.entity;
+
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A decided loan moved out of {@code loans} by {@code LoanArchiver}, keeping
+ * its id and every column. Rows are written and removed by SQL only, so the
+ * mapping is read-only. Besides the key, {@code loan_id} is indexed for lookups
+ * by ID and {@code (updated_at, id)} for {@code LoanExportService}, which reads
+ * the archive in that order. It is otherwise only aggregated.
+ */
+@Entity
+@Immutable
+@Table(name = "loans_archive", indexes = {
+    @Index(name = "idx_loan_archive_updated_at_id", columnList = "updated_at, id")
+})
+public class ArchivedLoan {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "loan_id", unique = true, nullable = false, length = 50)
+    private String loanId;
+    
+    @Column(name = "customer_name", nullable = false, length = 100)
+    private String customerName;
+    
+    @Column(name = "customer_phone", nullable = false, length = 20)
+    private String customerPhone;
+    
+    @Column(name = "loan_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal loanAmount;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "loan_type", nullable = false, length = 20)
+    private LoanType loanType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 30)
+    private LoanStatus status;
+    
+    @Column(name = "assigned_agent_id")
+    private Long assignedAgentId;
+    
+    @Column(name = "processing_started_at")
+    private LocalDateTime processingStartedAt;
+    
+    @Column(name = "processing_completed_at")
+    private LocalDateTime processingCompletedAt;
+    
+    @Column(name = "decision_reason", length = 500)
+    private String decisionReason;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    protected ArchivedLoan() {}
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getLoanId() {
+        return loanId;
+    }
+    
+    public String getCustomerName() {
+        return customerName;
+    }
+    
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+    
+    public BigDecimal getLoanAmount() {
+        return loanAmount;
+    }
+    
+    public LoanType getLoanType() {
+        return loanType;
+    }
+    
+    public LoanStatus getStatus() {
+        return status;
+    }
+    
+    public Long getAssignedAgentId() {
+        return assignedAgentId;
+    }
+    
+    public LocalDateTime getProcessingStartedAt() {
+        return processingStartedAt;
+    }
+    
+    public LocalDateTime getProcessingCompletedAt() {
+        return processingCompletedAt;
+    }
+    
+    public String getDecisionReason() {
+        return decisionReason;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
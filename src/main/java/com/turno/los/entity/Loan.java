@@ -1,11 +1,10 @@
 package com.turno.los.entity;
 
+import com.turno.los.clock.ApplicationClock;
 import com.turno.los.enums.LoanStatus;
 import com.turno.los.enums.LoanType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -14,9 +13,13 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "loans", indexes = {
-    @Index(name = "idx_loan_status", columnList = "status"),
+    // Descending to match the newest-first listings and search: H2 cannot scan an index backwards
+    @Index(name = "idx_loan_status_created_at_id", columnList = "status, created_at DESC, id DESC"),
     @Index(name = "idx_loan_customer_name", columnList = "customer_name"),
-    @Index(name = "idx_loan_created_at", columnList = "created_at")
+    @Index(name = "idx_loan_created_at", columnList = "created_at DESC, id DESC"),
+    @Index(name = "idx_loan_agent_created_at_id", columnList = "assigned_agent_id, created_at DESC, id DESC"),
+    @Index(name = "idx_loan_phone_created_at_id", columnList = "customer_phone, created_at DESC, id DESC"),
+    @Index(name = "idx_loan_updated_at_id", columnList = "updated_at, id")
 })
 public class Loan {
     
@@ -68,11 +71,9 @@ public class Loan {
     @Size(max = 500, message = "Decision reason must not exceed 500 characters")
     private String decisionReason;
     
-    @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
-    @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
@@ -88,6 +89,21 @@ public class Loan {
         this.status = LoanStatus.APPLIED;
     }
     
+    /**
+     * Stamped from {@link ApplicationClock} rather than Hibernate's timestamp
+     * generators, so the simulation profile's virtual time applies.
+     */
+    @PrePersist
+    protected void onCreate() {
+        createdAt = ApplicationClock.now();
+        updatedAt = createdAt;
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = ApplicationClock.now();
+    }
+    
     public Long getId() {
         return id;
     }
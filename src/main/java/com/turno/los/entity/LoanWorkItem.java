@@ -0,0 +1,61 @@
+package com.turno.los.entity;
+
+import com.turno.los.enums.WorkItemState;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A loan waiting for automated processing, at most one row per loan in
+ * {@code loans}. Maintained by {@code LoanWorkQueue} through SQL; mapped here
+ * so the schema is generated with the rest.
+ */
+@Entity
+@Immutable
+@Table(name = "loan_work_queue", indexes = {
+    @Index(name = "idx_work_queue_visible_at", columnList = "visible_at, loan_id")
+})
+public class LoanWorkItem {
+    
+    /** Primary key of the loan in {@code loans} */
+    @Id
+    @Column(name = "loan_id")
+    private Long loanId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 10)
+    private WorkItemState state;
+    
+    /** When the row can next be leased: its enqueue time, or the end of its current lease */
+    @Column(name = "visible_at", nullable = false)
+    private LocalDateTime visibleAt;
+    
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    @Column(name = "enqueued_at", nullable = false)
+    private LocalDateTime enqueuedAt;
+    
+    protected LoanWorkItem() {}
+    
+    public Long getLoanId() {
+        return loanId;
+    }
+    
+    public WorkItemState getState() {
+        return state;
+    }
+    
+    public LocalDateTime getVisibleAt() {
+        return visibleAt;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public LocalDateTime getEnqueuedAt() {
+        return enqueuedAt;
+    }
+}
@@ -0,0 +1,25 @@
+package com.turno.los.enums;
+
+
+public enum ExportFormat {
+    
+    NDJSON("application/x-ndjson", "ndjson"),
+    
+    CSV("text/csv", "csv");
+    
+    private final String contentType;
+    private final String fileExtension;
+    
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
@@ -0,0 +1,14 @@
+package com.turno.los.enums;
+
+
+public enum LatencyStage {
+    
+    /** From application to the start of system processing. */
+    QUEUE_WAIT,
+    
+    /** System processing, from start to completion. */
+    PROCESSING,
+    
+    /** From assignment for review to the agent's decision. */
+    AGENT_REVIEW
+}
@@ -0,0 +1,35 @@
+package com.turno.los.enums;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+
+public enum RollupGranularity {
+    
+    HOUR(ChronoUnit.HOURS),
+    
+    DAY(ChronoUnit.DAYS);
+    
+    private final ChronoUnit unit;
+    
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+    
+    /**
+     * Start of the bucket containing the given time.
+     */
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+    
+    /**
+     * Number of buckets needed to cover [from, to), counting partial buckets.
+     */
+    public long bucketsBetween(LocalDateTime from, LocalDateTime to) {
+        long seconds = Duration.between(bucketStart(from), to).getSeconds();
+        long bucketSeconds = unit.getDuration().getSeconds();
+        return (seconds + bucketSeconds - 1) / bucketSeconds;
+    }
+}
@@ -0,0 +1,14 @@
+package com.turno.los.enums;
+
+
+public enum TransitionActor {
+    
+    /** The customer, by submitting an application. */
+    CUSTOMER,
+    
+    /** Automated processing and business rules. */
+    SYSTEM,
+    
+    /** A human agent's review decision. */
+    AGENT
+}
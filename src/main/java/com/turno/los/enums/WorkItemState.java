@@ -0,0 +1,17 @@
+package com.turno.los.enums;
+
+/**
+ * State of a row in the processing work queue. Rows are deleted once the
+ * loan has been processed; only a loan that could not be is kept, as {@code FAILED}.
+ */
+public enum WorkItemState {
+    
+    /** Waiting to be handed to a processor */
+    READY,
+    
+    /** Handed to a processor; offered again once its lease runs out */
+    LEASED,
+    
+    /** Every attempt allowed by {@code los.processing.queue.max-attempts} ran out; never leased again */
+    FAILED
+}
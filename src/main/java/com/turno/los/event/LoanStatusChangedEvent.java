@@ -0,0 +1,138 @@
+package com.turno.los.event;
+
+import com.turno.los.clock.ApplicationClock;
+import com.turno.los.entity.Loan;
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code LoanService} and {@code AgentService} whenever a loan changes status.
+ * Carries an immutable snapshot of the loan so listeners never touch the managed entity.
+ * Built from the loan as flushed, so {@code updatedAt} is the stored value the
+ * loan's {@code ETag} is derived from.
+ * <p>
+ * Listeners that maintain derived state should use
+ * {@code @TransactionalEventListener} so they only see committed transitions.
+ */
+public class LoanStatusChangedEvent {
+    
+    private final Long id;
+    private final String loanId;
+    private final String customerName;
+    private final BigDecimal loanAmount;
+    private final LoanType loanType;
+    private final LoanStatus previousStatus;
+    private final LoanStatus newStatus;
+    private final Long assignedAgentId;
+    private final String decisionReason;
+    private final Long actingAgentId;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime processingStartedAt;
+    private final LocalDateTime processingCompletedAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime occurredAt;
+    
+    /**
+     * @param loan The loan after the transition, saved and flushed
+     * @param previousStatus The status before the transition, or null for a new application
+     */
+    public LoanStatusChangedEvent(Loan loan, LoanStatus previousStatus) {
+        this(loan, previousStatus, null);
+    }
+    
+    /**
+     * @param loan The loan after the transition, saved and flushed
+     * @param previousStatus The status before the transition, or null for a new application
+     * @param actingAgentId The agent who made the transition, or null if it was not an agent
+     */
+    public LoanStatusChangedEvent(Loan loan, LoanStatus previousStatus, Long actingAgentId) {
+        this.id = loan.getId();
+        this.loanId = loan.getLoanId();
+        this.customerName = loan.getCustomerName();
+        this.loanAmount = loan.getLoanAmount();
+        this.loanType = loan.getLoanType();
+        this.previousStatus = previousStatus;
+        this.newStatus = loan.getStatus();
+        this.assignedAgentId = loan.getAssignedAgentId();
+        this.decisionReason = loan.getDecisionReason();
+        this.actingAgentId = actingAgentId;
+        this.createdAt = loan.getCreatedAt();
+        this.processingStartedAt = loan.getProcessingStartedAt();
+        this.processingCompletedAt = loan.getProcessingCompletedAt();
+        this.updatedAt = loan.getUpdatedAt();
+        this.occurredAt = ApplicationClock.now();
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getLoanId() {
+        return loanId;
+    }
+    
+    public String getCustomerName() {
+        return customerName;
+    }
+    
+    public BigDecimal getLoanAmount() {
+        return loanAmount;
+    }
+    
+    public LoanType getLoanType() {
+        return loanType;
+    }
+    
+    public LoanStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public LoanStatus getNewStatus() {
+        return newStatus;
+    }
+    
+    public Long getAssignedAgentId() {
+        return assignedAgentId;
+    }
+    
+    public String getDecisionReason() {
+        return decisionReason;
+    }
+    
+    public Long getActingAgentId() {
+        return actingAgentId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getProcessingStartedAt() {
+        return processingStartedAt;
+    }
+    
+    public LocalDateTime getProcessingCompletedAt() {
+        return processingCompletedAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "LoanStatusChangedEvent{" +
+                "loanId='" + loanId + '\'' +
+                ", previousStatus=" + previousStatus +
+                ", newStatus=" + newStatus +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
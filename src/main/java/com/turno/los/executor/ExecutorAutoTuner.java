@@ -0,0 +1,58 @@
+package com.turno.los.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Optional controller that sizes each pool's core threads from its measured queue wait.
+ * <p>
+ * Every interval, a pool whose mean queue wait exceeded the target gains a core
+ * thread, up to its current max size, so work starts before the queue has to fill.
+ * A pool well under target with idle core threads gives one back, never going below
+ * the core size it started with. Max size and queue capacity are left to the
+ * operator via {@link ExecutorsEndpoint}.
+ */
+@Component
+@ConditionalOnProperty(name = "los.executors.adaptive.enabled", havingValue = "true")
+public class ExecutorAutoTuner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorAutoTuner.class);
+    
+    private final Map<String, ResizableThreadPoolTaskExecutor> executors;
+    private final Map<String, Integer> minCorePoolSizes = new HashMap<>();
+    private final double targetQueueWaitMs;
+    
+    @Autowired
+    public ExecutorAutoTuner(Map<String, ResizableThreadPoolTaskExecutor> executors,
+                             @Value("${los.executors.adaptive.target-queue-wait-ms:100}") double targetQueueWaitMs) {
+        this.executors = executors;
+        this.targetQueueWaitMs = targetQueueWaitMs;
+        executors.forEach((name, executor) -> minCorePoolSizes.put(name, executor.getCorePoolSize()));
+    }
+    
+    @Scheduled(fixedDelayString = "${los.executors.adaptive.interval-ms:5000}")
+    public void adjustPoolSizes() {
+        executors.forEach((name, executor) -> {
+            double queueWaitMs = executor.drainIntervalQueueWaitMillis();
+            int core = executor.getCorePoolSize();
+            
+            if (queueWaitMs > targetQueueWaitMs && core < executor.getMaxPoolSize()) {
+                executor.resize(core + 1, null, null);
+                logger.info("Executor {}: queue wait {} ms over target, core size {} -> {}",
+                           name, Math.round(queueWaitMs), core, core + 1);
+            } else if (queueWaitMs < targetQueueWaitMs / 4 && core > minCorePoolSizes.get(name)
+                    && executor.getActiveCount() < core) {
+                executor.resize(core - 1, null, null);
+                logger.info("Executor {}: queue wait under target, core size {} -> {}", name, core, core - 1);
+            }
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.turno.los.executor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds what Spring Boot's {@code executor.*} gauges lack for the application's
+ * pools: {@code executor.rejected}, {@code executor.queue.wait} and the current
+ * {@code executor.queue.capacity}, tagged with the bean name like the built-in ones.
+ */
+@Component
+public class ExecutorMetrics implements MeterBinder {
+    
+    private final Map<String, ResizableThreadPoolTaskExecutor> executors;
+    
+    @Autowired
+    public ExecutorMetrics(Map<String, ResizableThreadPoolTaskExecutor> executors) {
+        this.executors = executors;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        executors.forEach((name, executor) -> {
+            FunctionCounter.builder("executor.rejected", executor, ResizableThreadPoolTaskExecutor::getRejectedCount)
+                    .description("Tasks rejected because the pool and queue were full")
+                    .tag("name", name)
+                    .register(registry);
+            FunctionTimer.builder("executor.queue.wait", executor,
+                            ResizableThreadPoolTaskExecutor::getQueueWaitCount,
+                            ResizableThreadPoolTaskExecutor::getQueueWaitTotalSeconds,
+                            TimeUnit.SECONDS)
+                    .description("Time tasks spent queued before a thread picked them up")
+                    .tag("name", name)
+                    .register(registry);
+            Gauge.builder("executor.queue.capacity", executor, ResizableThreadPoolTaskExecutor::getQueueCapacity)
+                    .description("Configured queue capacity")
+                    .tag("name", name)
+                    .register(registry);
+        });
+    }
+}
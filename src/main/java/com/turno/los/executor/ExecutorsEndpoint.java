@@ -0,0 +1,138 @@
+package com.turno.los.executor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code /actuator/executors}: current state of the application's thread pools,
+ * and {@code POST /actuator/executors/{name}} to change core size, max size or
+ * queue capacity without a redeploy. Changes are not persisted across restarts.
+ * <p>
+ * Resizing is bounded by {@code los.executors.resize.max-pool-size} and
+ * {@code los.executors.resize.max-queue-capacity}. The endpoint is not exposed
+ * over HTTP by default; add {@code executors} to
+ * {@code management.endpoints.web.exposure.include} behind an access-controlled
+ * management port to use it.
+ */
+@Component
+@Endpoint(id = "executors")
+public class ExecutorsEndpoint {
+    
+    private final Map<String, ResizableThreadPoolTaskExecutor> executors;
+    private final int maxPoolSizeLimit;
+    private final int maxQueueCapacityLimit;
+    
+    @Autowired
+    public ExecutorsEndpoint(Map<String, ResizableThreadPoolTaskExecutor> executors,
+                             @Value("${los.executors.resize.max-pool-size:64}") int maxPoolSizeLimit,
+                             @Value("${los.executors.resize.max-queue-capacity:50000}") int maxQueueCapacityLimit) {
+        this.executors = executors;
+        this.maxPoolSizeLimit = maxPoolSizeLimit;
+        this.maxQueueCapacityLimit = maxQueueCapacityLimit;
+    }
+    
+    @ReadOperation
+    public Map<String, ExecutorDescriptor> executors() {
+        Map<String, ExecutorDescriptor> descriptors = new TreeMap<>();
+        executors.forEach((name, executor) -> descriptors.put(name, new ExecutorDescriptor(executor)));
+        return descriptors;
+    }
+    
+    @ReadOperation
+    public ExecutorDescriptor executor(@Selector String name) {
+        ResizableThreadPoolTaskExecutor executor = executors.get(name);
+        return executor != null ? new ExecutorDescriptor(executor) : null;
+    }
+    
+    @WriteOperation
+    public ExecutorDescriptor resize(@Selector String name,
+                                     @Nullable Integer corePoolSize,
+                                     @Nullable Integer maxPoolSize,
+                                     @Nullable Integer queueCapacity) {
+        ResizableThreadPoolTaskExecutor executor = executors.get(name);
+        if (executor == null) {
+            throw new InvalidEndpointRequestException("Unknown executor: " + name, "Unknown executor");
+        }
+        if ((corePoolSize != null && corePoolSize > maxPoolSizeLimit)
+                || (maxPoolSize != null && maxPoolSize > maxPoolSizeLimit)) {
+            String message = "Pool sizes are limited to " + maxPoolSizeLimit + " (los.executors.resize.max-pool-size)";
+            throw new InvalidEndpointRequestException(message, message);
+        }
+        if (queueCapacity != null && queueCapacity > maxQueueCapacityLimit) {
+            String message = "queueCapacity is limited to " + maxQueueCapacityLimit
+                    + " (los.executors.resize.max-queue-capacity)";
+            throw new InvalidEndpointRequestException(message, message);
+        }
+        try {
+            executor.resize(corePoolSize, maxPoolSize, queueCapacity);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return new ExecutorDescriptor(executor);
+    }
+    
+    public static class ExecutorDescriptor {
+        
+        private final int corePoolSize;
+        private final int maxPoolSize;
+        private final int poolSize;
+        private final int activeCount;
+        private final int queueSize;
+        private final int queueCapacity;
+        private final long completedTaskCount;
+        private final long rejectedCount;
+        
+        ExecutorDescriptor(ResizableThreadPoolTaskExecutor executor) {
+            this.corePoolSize = executor.getCorePoolSize();
+            this.maxPoolSize = executor.getMaxPoolSize();
+            this.poolSize = executor.getPoolSize();
+            this.activeCount = executor.getActiveCount();
+            this.queueSize = executor.getQueueSize();
+            this.queueCapacity = executor.getQueueCapacity();
+            this.completedTaskCount = executor.getThreadPoolExecutor().getCompletedTaskCount();
+            this.rejectedCount = executor.getRejectedCount();
+        }
+        
+        public int getCorePoolSize() {
+            return corePoolSize;
+        }
+        
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+        
+        public int getPoolSize() {
+            return poolSize;
+        }
+        
+        public int getActiveCount() {
+            return activeCount;
+        }
+        
+        public int getQueueSize() {
+            return queueSize;
+        }
+        
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+        
+        public long getCompletedTaskCount() {
+            return completedTaskCount;
+        }
+        
+        public long getRejectedCount() {
+            return rejectedCount;
+        }
+    }
+}
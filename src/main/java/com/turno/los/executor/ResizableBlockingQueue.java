@@ -0,0 +1,45 @@
+package com.turno.los.executor;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Linked work queue whose capacity can be changed while the pool is running.
+ * <p>
+ * {@link java.util.concurrent.ThreadPoolExecutor} only enqueues through
+ * {@link #offer(Object)}, which is where the bound is enforced. The size check
+ * and insert are not atomic, so concurrent submitters may overshoot the bound
+ * by a task or two; shrinking the capacity never drops queued tasks.
+ */
+class ResizableBlockingQueue<E> extends LinkedBlockingQueue<E> {
+    
+    private volatile int capacity;
+    
+    ResizableBlockingQueue(int capacity) {
+        super(Integer.MAX_VALUE);
+        this.capacity = capacity;
+    }
+    
+    int getCapacity() {
+        return capacity;
+    }
+    
+    void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+    
+    @Override
+    public boolean offer(E e) {
+        return size() < capacity && super.offer(e);
+    }
+    
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        return size() < capacity && super.offer(e, timeout, unit);
+    }
+    
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+}
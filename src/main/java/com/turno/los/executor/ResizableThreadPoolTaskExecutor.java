@@ -0,0 +1,123 @@
+package com.turno.los.executor;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ThreadPoolTaskExecutor} whose core size, max size and queue capacity can
+ * be changed at runtime, and which counts rejections and measures how long tasks
+ * wait in the queue before a thread picks them up.
+ * <p>
+ * Queue wait is accumulated as a running total for {@link ExecutorMetrics} and as a
+ * resettable interval for {@link ExecutorAutoTuner}.
+ */
+public class ResizableThreadPoolTaskExecutor extends ThreadPoolTaskExecutor {
+    
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder queueWaitCount = new LongAdder();
+    private final LongAdder intervalWaitNanos = new LongAdder();
+    private final LongAdder intervalWaitCount = new LongAdder();
+    
+    private TaskDecorator userDecorator;
+    private volatile ResizableBlockingQueue<Runnable> queue;
+    
+    public ResizableThreadPoolTaskExecutor() {
+        super.setTaskDecorator(this::measureQueueWait);
+        super.setRejectedExecutionHandler(countingHandler(new ThreadPoolExecutor.AbortPolicy()));
+    }
+    
+    @Override
+    public void setTaskDecorator(TaskDecorator taskDecorator) {
+        this.userDecorator = taskDecorator;
+    }
+    
+    @Override
+    public void setRejectedExecutionHandler(RejectedExecutionHandler rejectedExecutionHandler) {
+        super.setRejectedExecutionHandler(countingHandler(rejectedExecutionHandler));
+    }
+    
+    @Override
+    protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
+        this.queue = new ResizableBlockingQueue<>(queueCapacity);
+        return this.queue;
+    }
+    
+    /**
+     * Resize the pool. Null arguments leave that setting unchanged.
+     * 
+     * @throws IllegalArgumentException if the resulting sizes are inconsistent
+     */
+    public synchronized void resize(Integer corePoolSize, Integer maxPoolSize, Integer queueCapacity) {
+        int core = corePoolSize != null ? corePoolSize : getCorePoolSize();
+        int max = maxPoolSize != null ? maxPoolSize : getMaxPoolSize();
+        if (core < 0 || max < 1 || core > max) {
+            throw new IllegalArgumentException("Require 0 <= corePoolSize <= maxPoolSize and maxPoolSize >= 1");
+        }
+        if (queueCapacity != null && queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity must not be negative");
+        }
+        
+        // Order the updates so core never exceeds max in between
+        if (core > getMaxPoolSize()) {
+            setMaxPoolSize(max);
+            setCorePoolSize(core);
+        } else {
+            setCorePoolSize(core);
+            setMaxPoolSize(max);
+        }
+        if (queueCapacity != null && queue != null) {
+            queue.setCapacity(queueCapacity);
+        }
+    }
+    
+    public int getQueueCapacity() {
+        return queue != null ? queue.getCapacity() : 0;
+    }
+    
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+    
+    public double getQueueWaitTotalSeconds() {
+        return queueWaitNanos.sum() / 1e9;
+    }
+    
+    public long getQueueWaitCount() {
+        return queueWaitCount.sum();
+    }
+    
+    /**
+     * Mean queue wait in milliseconds since the previous call, or -1 if no task started.
+     */
+    public double drainIntervalQueueWaitMillis() {
+        long count = intervalWaitCount.sumThenReset();
+        long nanos = intervalWaitNanos.sumThenReset();
+        return count == 0 ? -1 : nanos / 1e6 / count;
+    }
+    
+    private Runnable measureQueueWait(Runnable task) {
+        Runnable decorated = userDecorator != null ? userDecorator.decorate(task) : task;
+        long enqueuedAt = System.nanoTime();
+        return () -> {
+            long waited = System.nanoTime() - enqueuedAt;
+            queueWaitNanos.add(waited);
+            queueWaitCount.increment();
+            intervalWaitNanos.add(waited);
+            intervalWaitCount.increment();
+            decorated.run();
+        };
+    }
+    
+    private RejectedExecutionHandler countingHandler(RejectedExecutionHandler delegate) {
+        return (task, executor) -> {
+            rejected.increment();
+            delegate.rejectedExecution(task, executor);
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.turno.los.journal;
+
+import com.turno.los.enums.LoanStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/journal}: journal location and size, with status counts
+ * replayed from the journal for reconciliation against
+ * {@code /loans/status-count}, and {@code /actuator/journal/{loanId}} to
+ * replay one loan's timeline with a full scan.
+ */
+@Component
+@Endpoint(id = "journal")
+public class JournalEndpoint {
+    
+    private final LoanJournal journal;
+    private final JournalReplayer replayer;
+    
+    @Autowired
+    public JournalEndpoint(LoanJournal journal, JournalReplayer replayer) {
+        this.journal = journal;
+        this.replayer = replayer;
+    }
+    
+    @ReadOperation
+    public JournalDescriptor journal() {
+        return new JournalDescriptor(journal.getDirectory().toAbsolutePath().toString(),
+                journal.getSegmentCount(), journal.getNextSequence(), replayer.statusCounts());
+    }
+    
+    @ReadOperation
+    public List<JournalRecord> timeline(@Selector String loanId) {
+        List<JournalRecord> records = replayer.timeline(loanId);
+        return records.isEmpty() ? null : records;
+    }
+    
+    public static class JournalDescriptor {
+        
+        private final String directory;
+        private final int segments;
+        private final long records;
+        private final Map<LoanStatus, Long> statusCounts;
+        
+        JournalDescriptor(String directory, int segments, long records, Map<LoanStatus, Long> statusCounts) {
+            this.directory = directory;
+            this.segments = segments;
+            this.records = records;
+            this.statusCounts = statusCounts;
+        }
+        
+        public String getDirectory() {
+            return directory;
+        }
+        
+        public int getSegments() {
+            return segments;
+        }
+        
+        public long getRecords() {
+            return records;
+        }
+        
+        public Map<LoanStatus, Long> getStatusCounts() {
+            return statusCounts;
+        }
+    }
+}
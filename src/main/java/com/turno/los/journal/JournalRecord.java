@@ -0,0 +1,85 @@
+package com.turno.los.journal;
+
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+import com.turno.los.enums.TransitionActor;
+
+import java.time.Instant;
+
+/**
+ * One decoded journal entry: a single committed status transition of a loan.
+ */
+public class JournalRecord {
+    
+    private final long sequence;
+    private final Instant occurredAt;
+    private final long id;
+    private final String loanId;
+    private final LoanStatus previousStatus;
+    private final LoanStatus newStatus;
+    private final LoanType loanType;
+    private final TransitionActor actor;
+    private final Long actorId;
+    private final Long assignedAgentId;
+    private final String reason;
+    
+    public JournalRecord(long sequence, Instant occurredAt, long id, String loanId,
+                         LoanStatus previousStatus, LoanStatus newStatus, LoanType loanType,
+                         TransitionActor actor, Long actorId, Long assignedAgentId, String reason) {
+        this.sequence = sequence;
+        this.occurredAt = occurredAt;
+        this.id = id;
+        this.loanId = loanId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.loanType = loanType;
+        this.actor = actor;
+        this.actorId = actorId;
+        this.assignedAgentId = assignedAgentId;
+        this.reason = reason;
+    }
+    
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    public String getLoanId() {
+        return loanId;
+    }
+    
+    public LoanStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public LoanStatus getNewStatus() {
+        return newStatus;
+    }
+    
+    public LoanType getLoanType() {
+        return loanType;
+    }
+    
+    public TransitionActor getActor() {
+        return actor;
+    }
+    
+    public Long getActorId() {
+        return actorId;
+    }
+    
+    public Long getAssignedAgentId() {
+        return assignedAgentId;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+}
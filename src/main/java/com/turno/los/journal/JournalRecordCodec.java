@@ -0,0 +1,149 @@
+package com.turno.los.journal;
+
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+import com.turno.los.enums.TransitionActor;
+import com.turno.los.event.LoanStatusChangedEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Fixed 512-byte, big-endian record layout:
+ * <pre>
+ *   0  int    magic "LJRN"
+ *   4  long   sequence
+ *  12  long   occurredAt, epoch microseconds UTC
+ *  20  long   loan database ID
+ *  28  byte   previous status ordinal + 1, 0 for a new application
+ *  29  byte   new status ordinal
+ *  30  byte   loan type ordinal
+ *  31  byte   actor ordinal
+ *  32  long   acting agent ID, -1 if none
+ *  40  long   assigned agent ID, -1 if none
+ *  48  byte   loan ID length, then up to 50 bytes UTF-8
+ *  99  short  reason length, then up to 407 bytes UTF-8
+ * 508  int    CRC32 of bytes 0-507
+ * </pre>
+ * Enums are stored by ordinal, so constants may only ever be appended to
+ * {@link LoanStatus}, {@link LoanType} and {@link TransitionActor}. Longer
+ * reasons are truncated on a character boundary.
+ */
+final class JournalRecordCodec {
+    
+    static final int RECORD_SIZE = 512;
+    
+    private static final int MAGIC = 0x4C4A524E;
+    private static final int LOAN_ID_OFFSET = 48;
+    private static final int MAX_LOAN_ID_BYTES = 50;
+    private static final int REASON_OFFSET = 99;
+    private static final int MAX_REASON_BYTES = 407;
+    private static final int CRC_OFFSET = 508;
+    private static final long NONE = -1L;
+    
+    private static final LoanStatus[] STATUSES = LoanStatus.values();
+    private static final LoanType[] TYPES = LoanType.values();
+    private static final TransitionActor[] ACTORS = TransitionActor.values();
+    
+    private JournalRecordCodec() {
+    }
+    
+    static TransitionActor actorOf(LoanStatusChangedEvent event) {
+        if (event.getPreviousStatus() == null) {
+            return TransitionActor.CUSTOMER;
+        }
+        return event.getActingAgentId() != null ? TransitionActor.AGENT : TransitionActor.SYSTEM;
+    }
+    
+    /**
+     * Encode a transition into {@code record}, which must be {@link #RECORD_SIZE} bytes long.
+     */
+    static void encode(long sequence, LoanStatusChangedEvent event, byte[] record) {
+        Arrays.fill(record, (byte) 0);
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        Instant occurredAt = event.getOccurredAt().atZone(ZoneId.systemDefault()).toInstant();
+        
+        buffer.putInt(MAGIC);
+        buffer.putLong(sequence);
+        buffer.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, occurredAt));
+        buffer.putLong(event.getId());
+        buffer.put((byte) (event.getPreviousStatus() != null ? event.getPreviousStatus().ordinal() + 1 : 0));
+        buffer.put((byte) event.getNewStatus().ordinal());
+        buffer.put((byte) event.getLoanType().ordinal());
+        buffer.put((byte) actorOf(event).ordinal());
+        buffer.putLong(event.getActingAgentId() != null ? event.getActingAgentId() : NONE);
+        buffer.putLong(event.getAssignedAgentId() != null ? event.getAssignedAgentId() : NONE);
+        
+        byte[] loanId = truncate(event.getLoanId(), MAX_LOAN_ID_BYTES);
+        buffer.put(LOAN_ID_OFFSET, (byte) loanId.length);
+        buffer.put(LOAN_ID_OFFSET + 1, loanId);
+        
+        byte[] reason = truncate(event.getDecisionReason(), MAX_REASON_BYTES);
+        buffer.putShort(REASON_OFFSET, (short) reason.length);
+        buffer.put(REASON_OFFSET + 2, reason);
+        
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, CRC_OFFSET);
+        buffer.putInt(CRC_OFFSET, (int) crc.getValue());
+    }
+    
+    /**
+     * @return The decoded record, or null if the slot is empty, torn or corrupt
+     */
+    static JournalRecord decode(byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        if (buffer.getInt(0) != MAGIC) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, CRC_OFFSET);
+        if (buffer.getInt(CRC_OFFSET) != (int) crc.getValue()) {
+            return null;
+        }
+        
+        int previous = buffer.get(28);
+        long actorId = buffer.getLong(32);
+        long assignedAgentId = buffer.getLong(40);
+        int loanIdLength = buffer.get(LOAN_ID_OFFSET);
+        int reasonLength = buffer.getShort(REASON_OFFSET);
+        
+        return new JournalRecord(
+            buffer.getLong(4),
+            Instant.EPOCH.plus(buffer.getLong(12), ChronoUnit.MICROS),
+            buffer.getLong(20),
+            new String(record, LOAN_ID_OFFSET + 1, loanIdLength, StandardCharsets.UTF_8),
+            previous == 0 ? null : STATUSES[previous - 1],
+            STATUSES[buffer.get(29)],
+            TYPES[buffer.get(30)],
+            ACTORS[buffer.get(31)],
+            actorId == NONE ? null : actorId,
+            assignedAgentId == NONE ? null : assignedAgentId,
+            reasonLength == 0 ? null : new String(record, REASON_OFFSET + 2, reasonLength, StandardCharsets.UTF_8)
+        );
+    }
+    
+    static boolean isEmpty(byte[] record) {
+        return ByteBuffer.wrap(record).getInt(0) == 0;
+    }
+    
+    private static byte[] truncate(String value, int maxBytes) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) {
+            return bytes;
+        }
+        int length = maxBytes;
+        // Back off continuation bytes so a multi-byte character is never split
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+}
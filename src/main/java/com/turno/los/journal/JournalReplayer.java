@@ -0,0 +1,55 @@
+package com.turno.los.journal;
+
+import com.turno.los.enums.LoanStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds state by replaying the {@link LoanJournal} from its first record,
+ * independently of the journal's in-memory index. Each call is a full scan,
+ * meant for reconciliation and audits rather than request paths.
+ */
+@Component
+public class JournalReplayer {
+    
+    private final LoanJournal journal;
+    
+    @Autowired
+    public JournalReplayer(LoanJournal journal) {
+        this.journal = journal;
+    }
+    
+    /**
+     * @return The number of loans currently in each status, by each loan's last journaled transition
+     */
+    public Map<LoanStatus, Long> statusCounts() {
+        Map<String, LoanStatus> latest = new HashMap<>();
+        journal.scan(record -> latest.put(record.getLoanId(), record.getNewStatus()));
+        
+        Map<LoanStatus, Long> counts = new EnumMap<>(LoanStatus.class);
+        for (LoanStatus status : LoanStatus.values()) {
+            counts.put(status, 0L);
+        }
+        latest.values().forEach(status -> counts.merge(status, 1L, Long::sum));
+        return counts;
+    }
+    
+    /**
+     * @return Every journaled transition of the loan, in journal order
+     */
+    public List<JournalRecord> timeline(String loanId) {
+        List<JournalRecord> records = new ArrayList<>();
+        journal.scan(record -> {
+            if (record.getLoanId().equals(loanId)) {
+                records.add(record);
+            }
+        });
+        return records;
+    }
+}
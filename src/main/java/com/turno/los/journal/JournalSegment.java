@@ -0,0 +1,113 @@
+package com.turno.los.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.turno.los.journal.JournalRecordCodec.RECORD_SIZE;
+
+/**
+ * One memory-mapped journal file holding the records from {@code firstSequence}
+ * up to its fixed capacity. Records are written and read with absolute
+ * operations only, so the shared buffer's position is never touched.
+ */
+final class JournalSegment {
+    
+    private static final byte[] EMPTY = new byte[RECORD_SIZE];
+    
+    private final Path path;
+    private final long firstSequence;
+    private final int capacity;
+    private final MappedByteBuffer buffer;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    
+    private JournalSegment(Path path, long firstSequence, int capacity, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.capacity = capacity;
+        this.buffer = buffer;
+    }
+    
+    /**
+     * Create and preallocate a new segment file.
+     */
+    static JournalSegment create(Path path, long firstSequence, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+            return new JournalSegment(path, firstSequence, capacity, buffer);
+        }
+    }
+    
+    /**
+     * Map an existing segment file at its current size.
+     */
+    static JournalSegment open(Path path, long firstSequence) throws IOException {
+        int capacity = (int) (Files.size(path) / RECORD_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+            return new JournalSegment(path, firstSequence, capacity, buffer);
+        }
+    }
+    
+    Path getPath() {
+        return path;
+    }
+    
+    long getFirstSequence() {
+        return firstSequence;
+    }
+    
+    int getCapacity() {
+        return capacity;
+    }
+    
+    boolean contains(long sequence) {
+        return sequence >= firstSequence && sequence < firstSequence + capacity;
+    }
+    
+    void write(long sequence, byte[] record) {
+        buffer.put(offset(sequence), record);
+        dirty.set(true);
+    }
+    
+    void read(long sequence, byte[] record) {
+        buffer.get(offset(sequence), record);
+    }
+    
+    /**
+     * Zero the slots from {@code sequence} up to the first empty one, so stale
+     * records left behind a torn write are never mistaken for new ones.
+     */
+    void clearFrom(long sequence) {
+        byte[] record = new byte[RECORD_SIZE];
+        for (long current = sequence; contains(current); current++) {
+            read(current, record);
+            if (JournalRecordCodec.isEmpty(record)) {
+                break;
+            }
+            write(current, EMPTY);
+        }
+    }
+    
+    /**
+     * Flush pending writes to disk if anything was written since the last flush.
+     * A write racing with the flush re-marks the segment dirty for the next one.
+     */
+    boolean forceIfDirty() {
+        if (!dirty.getAndSet(false)) {
+            return false;
+        }
+        buffer.force();
+        return true;
+    }
+    
+    private int offset(long sequence) {
+        return (int) (sequence - firstSequence) * RECORD_SIZE;
+    }
+}
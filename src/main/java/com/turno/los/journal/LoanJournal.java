@@ -0,0 +1,402 @@
+package com.turno.los.journal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.turno.los.event.LoanStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static com.turno.los.journal.JournalRecordCodec.RECORD_SIZE;
+
+/**
+ * Append-only journal of committed loan status transitions: who made each
+ * change, when, and why. Kept outside the {@code loans} table so auditing
+ * adds no database writes.
+ * <p>
+ * Records have a fixed layout (see {@link JournalRecordCodec}) and are written
+ * into preallocated, memory-mapped segment files named by their first
+ * sequence number. Appends only copy into the mapping and return before the
+ * record is durable. A flusher thread owned by the journal, not the shared
+ * scheduler, forces every record appended since the previous flush in one
+ * call, so the fsync cost is shared by the whole group and other scheduled
+ * work cannot hold it up. Two windows can lose records on a crash: records
+ * appended within one flush interval plus the duration of the fsync in
+ * progress, and transitions whose transaction committed but had not yet
+ * reached this after-commit listener.
+ * <p>
+ * On startup every segment is scanned, records are checked against their CRC,
+ * and a torn tail is discarded and overwritten. An in-memory index from loan
+ * ID to sequence numbers serves per-loan history without a scan. The index
+ * holds at most {@code los.journal.max-indexed-loans} loans, least recently
+ * used first out. History for a loan that has dropped out is rebuilt with
+ * one scan and indexed again.
+ */
+@Component
+public class LoanJournal {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoanJournal.class);
+    
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d{20})\\.seg");
+    
+    private final Path directory;
+    private final int segmentCapacity;
+    private final long flushIntervalMs;
+    private final ConcurrentSkipListMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private final Cache<String, IndexedLoan> sequencesByLoanId;
+    private final byte[] scratch = new byte[RECORD_SIZE];
+    private final Counter appends;
+    private final Counter appendFailures;
+    private final Timer flushes;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "JournalFlusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Guarded by this
+    private JournalSegment active;
+    
+    // Written under the lock after the record is in place; readers only look below it
+    private volatile long nextSequence;
+    
+    // Until the index first drops a loan, a loan missing from it has no records
+    private volatile boolean indexEvicted;
+    
+    @Autowired
+    public LoanJournal(MeterRegistry meterRegistry,
+                       @Value("${los.journal.dir:./data/journal}") String directory,
+                       @Value("${los.journal.segment-size-mb:64}") int segmentSizeMb,
+                       @Value("${los.journal.flush-interval-ms:50}") long flushIntervalMs,
+                       @Value("${los.journal.max-indexed-loans:100000}") long maxIndexedLoans) {
+        this.directory = Paths.get(directory);
+        this.segmentCapacity = (int) ((long) segmentSizeMb * 1024 * 1024 / RECORD_SIZE);
+        this.flushIntervalMs = flushIntervalMs;
+        this.sequencesByLoanId = Caffeine.newBuilder()
+                .maximumSize(maxIndexedLoans)
+                .evictionListener((String loanId, IndexedLoan loan, RemovalCause cause) -> indexEvicted = true)
+                .build();
+        
+        this.appends = Counter.builder("los.journal.appends")
+                .description("Transitions appended to the journal")
+                .register(meterRegistry);
+        this.appendFailures = Counter.builder("los.journal.append.failures")
+                .description("Transitions that could not be journaled")
+                .register(meterRegistry);
+        this.flushes = Timer.builder("los.journal.flush")
+                .description("Forcing journaled transitions to disk")
+                .register(meterRegistry);
+        Gauge.builder("los.journal.segments", segments, Map::size)
+                .description("Journal segment files")
+                .register(meterRegistry);
+        Gauge.builder("los.journal.indexed.loans", sequencesByLoanId, Cache::estimatedSize)
+                .description("Loans whose journal sequence numbers are held in memory")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void recover() {
+        try {
+            Files.createDirectories(directory);
+            Map<Long, Path> files = new TreeMap<>();
+            try (Stream<Path> listing = Files.list(directory)) {
+                listing.forEach(path -> {
+                    Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+                    if (matcher.matches()) {
+                        files.put(Long.parseLong(matcher.group(1)), path);
+                    }
+                });
+            }
+            
+            long recovered = 0;
+            JournalSegment last = null;
+            long end = 0;
+            for (Map.Entry<Long, Path> file : files.entrySet()) {
+                if (last != null && end != file.getKey()) {
+                    logger.warn("Journal segment {} ends at sequence {} but the next starts at {}",
+                            last.getPath(), end, file.getKey());
+                }
+                last = JournalSegment.open(file.getValue(), file.getKey());
+                segments.put(last.getFirstSequence(), last);
+                end = scanForRecovery(last);
+                recovered += end - last.getFirstSequence();
+            }
+            
+            if (last != null) {
+                last.clearFrom(end);
+                last.forceIfDirty();
+                active = last;
+            }
+            nextSequence = end;
+            logger.info("Recovered {} journal record(s) from {} segment(s) in {}, {} loan(s) indexed",
+                    recovered, segments.size(), directory.toAbsolutePath(), sequencesByLoanId.estimatedSize());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open loan journal in " + directory, e);
+        }
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(LoanStatusChangedEvent event) {
+        try {
+            append(event);
+        } catch (RuntimeException e) {
+            appendFailures.increment();
+            logger.error("Failed to journal transition of loan {} to {}",
+                    event.getLoanId(), event.getNewStatus(), e);
+        }
+    }
+    
+    /**
+     * @return The sequence number assigned to the record
+     */
+    public long append(LoanStatusChangedEvent event) {
+        long sequence;
+        synchronized (this) {
+            sequence = nextSequence;
+            if (active == null || !active.contains(sequence)) {
+                roll(sequence);
+            }
+            JournalRecordCodec.encode(sequence, event, scratch);
+            active.write(sequence, scratch);
+            index(event.getLoanId(), event.getPreviousStatus() == null, sequence);
+            nextSequence = sequence + 1;
+        }
+        appends.increment();
+        return sequence;
+    }
+    
+    /**
+     * Force everything appended since the last flush to disk in one call.
+     * Runs every {@code los.journal.flush-interval-ms} on the flusher thread.
+     */
+    public void flush() {
+        JournalSegment current;
+        synchronized (this) {
+            current = active;
+        }
+        if (current == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (current.forceIfDirty()) {
+            flushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        segments.values().forEach(JournalSegment::forceIfDirty);
+        logger.info("Journal closed at sequence {}", nextSequence);
+    }
+    
+    // An exception would cancel the periodic task and stop all further flushes
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush the loan journal", e);
+        }
+    }
+    
+    /**
+     * @return The loan's transitions in the order they were journaled, or an empty list
+     */
+    public List<JournalRecord> history(String loanId) {
+        IndexedLoan indexed = sequencesByLoanId.getIfPresent(loanId);
+        if (indexed == null && !indexEvicted) {
+            return List.of();
+        }
+        if (indexed == null || !indexed.complete) {
+            indexed = reindex(loanId);
+        }
+        List<JournalRecord> records = new ArrayList<>(indexed.sequences.length);
+        byte[] record = new byte[RECORD_SIZE];
+        for (long sequence : indexed.sequences) {
+            JournalRecord decoded = read(sequence, record);
+            if (decoded != null) {
+                records.add(decoded);
+            }
+        }
+        return records;
+    }
+    
+    /**
+     * Visit every valid record in sequence order, up to the last append at call time.
+     */
+    public void scan(Consumer<JournalRecord> visitor) {
+        scan(nextSequence, visitor);
+    }
+    
+    private void scan(long end, Consumer<JournalRecord> visitor) {
+        byte[] record = new byte[RECORD_SIZE];
+        for (JournalSegment segment : segments.values()) {
+            for (long sequence = segment.getFirstSequence(); sequence < end && segment.contains(sequence); sequence++) {
+                segment.read(sequence, record);
+                JournalRecord decoded = JournalRecordCodec.decode(record);
+                if (decoded != null && decoded.getSequence() == sequence) {
+                    visitor.accept(decoded);
+                }
+            }
+        }
+    }
+    
+    public long getNextSequence() {
+        return nextSequence;
+    }
+    
+    public int getSegmentCount() {
+        return segments.size();
+    }
+    
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    private JournalRecord read(long sequence, byte[] record) {
+        Map.Entry<Long, JournalSegment> entry = segments.floorEntry(sequence);
+        if (entry == null || !entry.getValue().contains(sequence)) {
+            return null;
+        }
+        entry.getValue().read(sequence, record);
+        JournalRecord decoded = JournalRecordCodec.decode(record);
+        return decoded != null && decoded.getSequence() == sequence ? decoded : null;
+    }
+    
+    /**
+     * Add a record to the loan's index entry. A loan that is not indexed starts
+     * a new entry, which is complete if this is the loan's first record or if
+     * no loan has been dropped from the index yet.
+     */
+    private void index(String loanId, boolean first, long sequence) {
+        sequencesByLoanId.asMap().compute(loanId, (key, indexed) -> indexed == null
+                ? new IndexedLoan(new long[] {sequence}, first || !indexEvicted)
+                : new IndexedLoan(append(indexed.sequences, sequence), indexed.complete));
+    }
+    
+    /**
+     * Rebuild the loan's entry from a full scan. The scan runs outside the
+     * append lock, so records appended meanwhile are taken from the entry
+     * those appends left behind.
+     */
+    private IndexedLoan reindex(String loanId) {
+        long end = nextSequence;
+        List<Long> found = new ArrayList<>();
+        scan(end, record -> {
+            if (record.getLoanId().equals(loanId)) {
+                found.add(record.getSequence());
+            }
+        });
+        synchronized (this) {
+            long[] sequences = found.stream().mapToLong(Long::longValue).toArray();
+            IndexedLoan current = sequencesByLoanId.getIfPresent(loanId);
+            if (current != null) {
+                for (long sequence : current.sequences) {
+                    if (sequence >= end) {
+                        sequences = append(sequences, sequence);
+                    }
+                }
+            }
+            IndexedLoan rebuilt = new IndexedLoan(sequences, true);
+            sequencesByLoanId.put(loanId, rebuilt);
+            return rebuilt;
+        }
+    }
+    
+    /**
+     * Seal the active segment and start a new one at {@code firstSequence}.
+     * The sealed segment is forced here so the scheduled flush only ever
+     * needs to look at the active one.
+     */
+    private void roll(long firstSequence) {
+        if (active != null) {
+            active.forceIfDirty();
+        }
+        Path path = directory.resolve(String.format("journal-%020d.seg", firstSequence));
+        try {
+            active = JournalSegment.create(path, firstSequence, segmentCapacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create journal segment " + path, e);
+        }
+        segments.put(firstSequence, active);
+        logger.info("Started journal segment {}", path);
+    }
+    
+    /**
+     * Index the segment's records up to the first empty, torn or out-of-sequence slot.
+     *
+     * @return The sequence number following the last valid record
+     */
+    private long scanForRecovery(JournalSegment segment) {
+        byte[] record = new byte[RECORD_SIZE];
+        long sequence = segment.getFirstSequence();
+        for (; segment.contains(sequence); sequence++) {
+            segment.read(sequence, record);
+            JournalRecord decoded = JournalRecordCodec.decode(record);
+            if (decoded == null || decoded.getSequence() != sequence) {
+                if (!JournalRecordCodec.isEmpty(record)) {
+                    logger.warn("Discarding torn journal record {} in {}", sequence, segment.getPath());
+                }
+                break;
+            }
+            index(decoded.getLoanId(), decoded.getPreviousStatus() == null, sequence);
+        }
+        return sequence;
+    }
+    
+    private static long[] append(long[] sequences, long sequence) {
+        if (sequences == null) {
+            return new long[] {sequence};
+        }
+        long[] extended = Arrays.copyOf(sequences, sequences.length + 1);
+        extended[sequences.length] = sequence;
+        return extended;
+    }
+    
+    /**
+     * A loan's journaled sequence numbers in order. Incomplete when the loan
+     * was dropped from the index and journaled again, so earlier records may
+     * be missing.
+     */
+    private static final class IndexedLoan {
+        
+        private final long[] sequences;
+        private final boolean complete;
+        
+        private IndexedLoan(long[] sequences, boolean complete) {
+            this.sequences = sequences;
+            this.complete = complete;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.turno.los.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback {@link AsyncAppender} that counts the events it drops, either because
+ * the queue is full under {@code neverBlock} or because it is past the
+ * discarding threshold and the event is below WARN. Exported by {@link LoggingMetrics}.
+ * <p>
+ * The check runs just before the enqueue, so under contention the count can be
+ * off by the few events racing for the last slots.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+    
+    private final LongAdder dropped = new LongAdder();
+    
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if ((remaining == 0 && isNeverBlock())
+                || (remaining < getDiscardingThreshold() && isDiscardable(event))) {
+            dropped.increment();
+        }
+        super.append(event);
+    }
+    
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
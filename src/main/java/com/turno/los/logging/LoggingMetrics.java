@@ -0,0 +1,47 @@
+package com.turno.los.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Publishes {@code logback.async.dropped} and {@code logback.async.queue.remaining}
+ * for each {@link CountingAsyncAppender} attached to the root logger. Binds
+ * nothing when logging is synchronous, as it is outside the prod profile.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext)) {
+            return;
+        }
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Iterator<Appender<ILoggingEvent>> appenders =
+                context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        
+        while (appenders.hasNext()) {
+            Appender<ILoggingEvent> appender = appenders.next();
+            if (appender instanceof CountingAsyncAppender) {
+                CountingAsyncAppender async = (CountingAsyncAppender) appender;
+                FunctionCounter.builder("logback.async.dropped", async, CountingAsyncAppender::getDroppedCount)
+                        .description("Log events dropped by the async appender")
+                        .tag("appender", async.getName())
+                        .register(registry);
+                Gauge.builder("logback.async.queue.remaining", async, CountingAsyncAppender::getRemainingCapacity)
+                        .description("Free slots in the async appender's buffer")
+                        .tag("appender", async.getName())
+                        .register(registry);
+            }
+        }
+    }
+}
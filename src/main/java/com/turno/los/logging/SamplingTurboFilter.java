@@ -0,0 +1,52 @@
+package com.turno.los.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps roughly one in {@code sampleEvery} events below WARN from loggers under
+ * {@code loggerName}. Runs as a turbo filter, so dropped lines are rejected before
+ * a logging event or its message is ever built. WARN and above always pass.
+ * <pre>
+ * &lt;turboFilter class="com.turno.los.logging.SamplingTurboFilter"&gt;
+ *     &lt;loggerName&gt;com.turno.los.notification&lt;/loggerName&gt;
+ *     &lt;sampleEvery&gt;10&lt;/sampleEvery&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    
+    private String loggerName = "";
+    private int sampleEvery = 1;
+    
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks; sample the actual call instead
+        if (format == null || sampleEvery <= 1 || level.isGreaterOrEqual(Level.WARN)
+                || !logger.getName().startsWith(loggerName)) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(sampleEvery) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+    
+    public String getLoggerName() {
+        return loggerName;
+    }
+    
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+    
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+    
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+}
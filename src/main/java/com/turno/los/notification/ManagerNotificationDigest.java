@@ -0,0 +1,204 @@
+package com.turno.los.notification;
+
+import com.turno.los.entity.Agent;
+import com.turno.los.entity.Loan;
+import com.turno.los.notification.gateway.NotificationChannel;
+import com.turno.los.notification.gateway.NotificationGateway;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregates manager notifications into one push per manager per window
+ * instead of one push for every loan assigned to any of their agents.
+ * <p>
+ * The buffer is bounded both in the number of managers with a pending digest
+ * and in the loans listed per digest; anything past those limits is either
+ * sent straight away or only counted in the summary.
+ */
+@Component
+public class ManagerNotificationDigest {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ManagerNotificationDigest.class);
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    @Value("${los.notification.manager-digest.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${los.notification.manager-digest.window-seconds:300}")
+    private long windowSeconds;
+    
+    @Value("${los.notification.manager-digest.max-managers:1000}")
+    private int maxManagers;
+    
+    @Value("${los.notification.manager-digest.max-loans-per-digest:20}")
+    private int maxLoansPerDigest;
+    
+    private final NotificationGateway notificationGateway;
+    private final Clock clock;
+    
+    private final ConcurrentHashMap<Long, Digest> pending = new ConcurrentHashMap<>();
+    
+    private volatile boolean closed;
+    
+    @Autowired
+    public ManagerNotificationDigest(NotificationGateway notificationGateway, Clock clock) {
+        this.notificationGateway = notificationGateway;
+        this.clock = clock;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Add an assignment to the manager's pending digest. If the buffer is full
+     * or already shut down, the assignment is sent as a single-entry digest.
+     */
+    public void add(Agent manager, Agent agent, Loan loan) {
+        Assignment assignment = new Assignment(agent.getName(), loan.getLoanId(),
+                                               loan.getCustomerName(), loan.getLoanAmount());
+        
+        boolean[] buffered = {false};
+        if (!closed) {
+            pending.compute(manager.getId(), (id, existing) -> {
+                // Checked again under the key's lock: flushAll may have drained it since the check above
+                if (closed) {
+                    return existing;
+                }
+                if (existing == null) {
+                    if (pending.size() >= maxManagers) {
+                        return null;
+                    }
+                    existing = new Digest(manager.getName(), manager.getEmail(), LocalDateTime.now(clock));
+                }
+                existing.add(assignment, maxLoansPerDigest);
+                buffered[0] = true;
+                return existing;
+            });
+        }
+        
+        if (!buffered[0]) {
+            Digest single = new Digest(manager.getName(), manager.getEmail(), LocalDateTime.now(clock));
+            single.add(assignment, maxLoansPerDigest);
+            send(single);
+        }
+    }
+    
+    /**
+     * Send every digest whose window has elapsed.
+     */
+    @Scheduled(fixedDelayString = "${los.notification.manager-digest.flush-interval-ms:5000}")
+    public void flushDueDigests() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusSeconds(windowSeconds);
+        for (Long managerId : pending.keySet()) {
+            Digest digest = pending.get(managerId);
+            if (digest != null && !digest.openedAt.isAfter(cutoff)) {
+                Digest taken = pending.remove(managerId);
+                if (taken != null) {
+                    send(taken);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Send every pending digest and stop buffering. An {@code add} racing with
+     * this either lands in a digest before it is taken or, once it sees
+     * {@code closed}, is sent on its own; draining until empty picks up the former.
+     */
+    @PreDestroy
+    public void flushAll() {
+        closed = true;
+        int flushed = 0;
+        while (!pending.isEmpty()) {
+            for (Long managerId : pending.keySet()) {
+                Digest taken = pending.remove(managerId);
+                if (taken != null) {
+                    send(taken);
+                    flushed++;
+                }
+            }
+        }
+        if (flushed > 0) {
+            logger.info("Flushed {} pending manager digests on shutdown", flushed);
+        }
+    }
+    
+    private void send(Digest digest) {
+        StringBuilder message = new StringBuilder(String.format(
+            "[PUSH NOTIFICATION] Manager digest sent to %s (%s) at %s\n" +
+            "%d loan(s) assigned to your agents since %s",
+            digest.managerName,
+            digest.managerEmail,
+            LocalDateTime.now(clock).format(formatter),
+            digest.totalCount,
+            digest.openedAt.format(formatter)
+        ));
+        
+        for (Assignment assignment : digest.assignments) {
+            message.append(String.format("\nAgent %s: loan %s, Customer: %s, Amount: $%,.2f",
+                assignment.agentName, assignment.loanId, assignment.customerName, assignment.loanAmount));
+        }
+        if (digest.totalCount > digest.assignments.size()) {
+            message.append(String.format("\n... and %d more", digest.totalCount - digest.assignments.size()));
+        }
+        message.append(String.format("\nTotal amount: $%,.2f", digest.totalAmount));
+        
+        notificationGateway.dispatch(NotificationChannel.PUSH, digest.managerEmail, message.toString());
+    }
+    
+    /**
+     * Pending digest for one manager. Only mutated inside {@code pending.compute}.
+     */
+    private static final class Digest {
+        
+        private final String managerName;
+        private final String managerEmail;
+        private final LocalDateTime openedAt;
+        private final List<Assignment> assignments = new ArrayList<>();
+        private int totalCount;
+        private BigDecimal totalAmount = BigDecimal.ZERO;
+        
+        private Digest(String managerName, String managerEmail, LocalDateTime openedAt) {
+            this.managerName = managerName;
+            this.managerEmail = managerEmail;
+            this.openedAt = openedAt;
+        }
+        
+        private void add(Assignment assignment, int maxListed) {
+            if (assignments.size() < maxListed) {
+                assignments.add(assignment);
+            }
+            totalCount++;
+            totalAmount = totalAmount.add(assignment.loanAmount);
+        }
+    }
+    
+    private static final class Assignment {
+        
+        private final String agentName;
+        private final String loanId;
+        private final String customerName;
+        private final BigDecimal loanAmount;
+        
+        private Assignment(String agentName, String loanId, String customerName, BigDecimal loanAmount) {
+            this.agentName = agentName;
+            this.loanId = loanId;
+            this.customerName = customerName;
+            this.loanAmount = loanAmount;
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.turno.los.notification;
 
 import com.turno.los.entity.Agent;
 import com.turno.los.entity.Loan;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.turno.los.notification.gateway.NotificationChannel;
+import com.turno.los.notification.gateway.NotificationGateway;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -14,7 +16,6 @@ import java.time.format.DateTimeFormatter;
 @Service
 public class MockNotificationService implements NotificationService {
     
-    private static final Logger logger = LoggerFactory.getLogger(MockNotificationService.class);
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
     @Value("${los.notification.enabled:true}")
@@ -26,6 +27,19 @@ public class MockNotificationService implements NotificationService {
     @Value("${los.notification.sms-enabled:true}")
     private boolean smsEnabled;
     
+    private final NotificationGateway notificationGateway;
+    private final ManagerNotificationDigest managerNotificationDigest;
+    private final Clock clock;
+    
+    @Autowired
+    public MockNotificationService(NotificationGateway notificationGateway,
+                                   ManagerNotificationDigest managerNotificationDigest,
+                                   Clock clock) {
+        this.notificationGateway = notificationGateway;
+        this.managerNotificationDigest = managerNotificationDigest;
+        this.clock = clock;
+    }
+    
     @Override
     public void sendLoanAssignmentNotification(Agent agent, Loan loan) {
         if (!notificationsEnabled || !pushNotificationsEnabled) {
@@ -40,14 +54,14 @@ public class MockNotificationService implements NotificationService {
             "Type: %s",
             agent.getName(),
             agent.getEmail(),
-            LocalDateTime.now().format(formatter),
+            LocalDateTime.now(clock).format(formatter),
             loan.getLoanId(),
             loan.getCustomerName(),
             loan.getLoanAmount(),
             loan.getLoanType()
         );
         
-        logger.info(message);
+        notificationGateway.dispatch(NotificationChannel.PUSH, agent.getEmail(), message);
     }
     
     @Override
@@ -56,6 +70,11 @@ public class MockNotificationService implements NotificationService {
             return;
         }
         
+        if (managerNotificationDigest.isEnabled()) {
+            managerNotificationDigest.add(manager, agent, loan);
+            return;
+        }
+        
         String message = String.format(
             "[PUSH NOTIFICATION] Manager notification sent to %s (%s) at %s\n" +
             "Agent %s has been assigned loan %s\n" +
@@ -63,14 +82,14 @@ public class MockNotificationService implements NotificationService {
             "Amount: $%,.2f",
             manager.getName(),
             manager.getEmail(),
-            LocalDateTime.now().format(formatter),
+            LocalDateTime.now(clock).format(formatter),
             agent.getName(),
             loan.getLoanId(),
             loan.getCustomerName(),
             loan.getLoanAmount()
         );
         
-        logger.info(message);
+        notificationGateway.dispatch(NotificationChannel.PUSH, manager.getEmail(), message);
     }
     
     @Override
@@ -87,13 +106,13 @@ public class MockNotificationService implements NotificationService {
             "Message: Congratulations! Your loan application has been approved.",
             customerName,
             customerPhone,
-            LocalDateTime.now().format(formatter),
+            LocalDateTime.now(clock).format(formatter),
             loan.getLoanId(),
             loan.getStatus(),
             loan.getLoanAmount()
         );
         
-        logger.info(message);
+        notificationGateway.dispatch(NotificationChannel.SMS, customerPhone, message);
     }
     
     @Override
@@ -111,14 +130,14 @@ public class MockNotificationService implements NotificationService {
             "Message: We regret to inform you that your loan application has been rejected.",
             customerName,
             customerPhone,
-            LocalDateTime.now().format(formatter),
+            LocalDateTime.now(clock).format(formatter),
             loan.getLoanId(),
             loan.getStatus(),
             loan.getLoanAmount(),
             reason != null ? reason : "No specific reason provided"
         );
         
-        logger.info(message);
+        notificationGateway.dispatch(NotificationChannel.SMS, customerPhone, message);
     }
     
     @Override
@@ -132,13 +151,13 @@ public class MockNotificationService implements NotificationService {
             "Loan ID: %s\n" +
             "Customer: %s\n" +
             "Amount: $%,.2f",
-            LocalDateTime.now().format(formatter),
+            LocalDateTime.now(clock).format(formatter),
             loan.getLoanId(),
             loan.getCustomerName(),
             loan.getLoanAmount()
         );
         
-        logger.info(message);
+        notificationGateway.dispatch(NotificationChannel.SYSTEM, loan.getLoanId(), message);
     }
     
     @Override
@@ -153,13 +172,13 @@ public class MockNotificationService implements NotificationService {
             "Customer: %s\n" +
             "Final Status: %s\n" +
             "Amount: $%,.2f",
-            LocalDateTime.now().format(formatter),
+            LocalDateTime.now(clock).format(formatter),
             loan.getLoanId(),
             loan.getCustomerName(),
             loan.getStatus(),
             loan.getLoanAmount()
         );
         
-        logger.info(message);
+        notificationGateway.dispatch(NotificationChannel.SYSTEM, loan.getLoanId(), message);
     }
 }
\ No newline at end of file
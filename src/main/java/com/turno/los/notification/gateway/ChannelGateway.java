@@ -0,0 +1,193 @@
+package com.turno.los.notification.gateway;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Protection stack for one notification channel: circuit breaker, token bucket
+ * and a dedicated bulkhead pool in front of the provider, with a bounded
+ * retry queue for anything that could not be sent right away.
+ * <p>
+ * {@link #submit} never blocks the caller; a slow or failing provider only
+ * fills this channel's bulkhead and retry queue.
+ */
+class ChannelGateway {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ChannelGateway.class);
+    
+    private final NotificationChannel channel;
+    private final NotificationProvider provider;
+    private final int maxAttempts;
+    
+    private final CircuitBreaker circuitBreaker;
+    private final TokenBucket tokenBucket;
+    private final ThreadPoolExecutor bulkhead;
+    private final BlockingDeque<PendingNotification> retryQueue;
+    
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    
+    ChannelGateway(NotificationChannel channel, NotificationProvider provider,
+                   NotificationGatewayProperties.Channel settings) {
+        this.channel = channel;
+        this.provider = provider;
+        this.maxAttempts = Math.max(1, settings.getMaxAttempts());
+        this.circuitBreaker = new CircuitBreaker(settings.getFailureThreshold(), settings.getOpenDurationMs());
+        this.tokenBucket = new TokenBucket(settings.getRatePerSecond(), settings.getBurst());
+        this.retryQueue = new LinkedBlockingDeque<>(Math.max(1, settings.getRetryQueueCapacity()));
+        
+        int concurrency = Math.max(1, settings.getMaxConcurrent());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.bulkhead = new ThreadPoolExecutor(
+            concurrency, concurrency, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "Notify-" + channel.name() + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.bulkhead.allowCoreThreadTimeOut(true);
+    }
+    
+    void submit(String recipient, String message) {
+        PendingNotification notification = new PendingNotification(recipient, message);
+        if (!tryDispatch(notification)) {
+            defer(notification);
+        }
+    }
+    
+    /**
+     * Re-dispatch deferred notifications while the breaker and rate limit allow it.
+     * Only called from the gateway's retry task, so this is the sole consumer.
+     */
+    void drainRetryQueue() {
+        int budget = retryQueue.size();
+        while (budget-- > 0) {
+            PendingNotification notification = retryQueue.pollFirst();
+            if (notification == null) {
+                return;
+            }
+            if (!tryDispatch(notification)) {
+                if (!retryQueue.offerFirst(notification)) {
+                    drop(notification, "retry queue full");
+                }
+                return;
+            }
+        }
+    }
+    
+    void shutdown(long timeoutMillis) {
+        bulkhead.shutdown();
+        try {
+            if (!bulkhead.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                bulkhead.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            bulkhead.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (!retryQueue.isEmpty()) {
+            logger.warn("Discarding {} deferred {} notifications on shutdown", retryQueue.size(), channel);
+        }
+    }
+    
+    CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+    
+    Map<String, Object> describe() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("circuit", circuitBreaker.getState());
+        details.put("availableTokens", (long) tokenBucket.availableTokens());
+        details.put("inFlight", bulkhead.getActiveCount());
+        details.put("bulkheadQueued", bulkhead.getQueue().size());
+        details.put("retryQueued", retryQueue.size());
+        details.put("delivered", delivered.sum());
+        details.put("failed", failed.sum());
+        details.put("deferred", deferred.sum());
+        details.put("dropped", dropped.sum());
+        return details;
+    }
+    
+    private boolean tryDispatch(PendingNotification notification) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return false;
+        }
+        if (!tokenBucket.tryAcquire()) {
+            circuitBreaker.releasePermission();
+            return false;
+        }
+        try {
+            bulkhead.execute(() -> deliver(notification));
+            return true;
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.releasePermission();
+            return false;
+        }
+    }
+    
+    private void deliver(PendingNotification notification) {
+        if (notification.logContext != null) {
+            MDC.setContextMap(notification.logContext);
+        }
+        try {
+            provider.send(channel, notification.recipient, notification.message);
+            circuitBreaker.onSuccess();
+            delivered.increment();
+        } catch (Exception e) {
+            circuitBreaker.onFailure();
+            failed.increment();
+            if (++notification.attempts >= maxAttempts) {
+                drop(notification, "delivery failed after " + notification.attempts + " attempts: " + e.getMessage());
+            } else {
+                defer(notification);
+            }
+        } finally {
+            MDC.clear();
+        }
+    }
+    
+    private void defer(PendingNotification notification) {
+        if (retryQueue.offerLast(notification)) {
+            deferred.increment();
+        } else {
+            drop(notification, "retry queue full");
+        }
+    }
+    
+    private void drop(PendingNotification notification, String reason) {
+        dropped.increment();
+        logger.warn("Dropped {} notification to {}: {}", channel, notification.recipient, reason);
+    }
+    
+    private static final class PendingNotification {
+        
+        private final String recipient;
+        private final String message;
+        // Caller's MDC (loanId, agentId) so provider logs stay correlated
+        private final Map<String, String> logContext;
+        private int attempts;
+        
+        private PendingNotification(String recipient, String message) {
+            this.recipient = recipient;
+            this.message = message;
+            this.logContext = MDC.getCopyOfContextMap();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.turno.los.notification.gateway;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the real push/SMS vendors. Delivery is a log line, with
+ * optional per-channel latency and failure injection
+ * ({@code los.notification.stub.*}) to exercise the gateway's protections.
+ */
+@Component
+@EnableConfigurationProperties(LocalStubNotificationProvider.FaultProperties.class)
+public class LocalStubNotificationProvider implements NotificationProvider {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LocalStubNotificationProvider.class);
+    
+    private final FaultProperties faults;
+    
+    @Autowired
+    public LocalStubNotificationProvider(FaultProperties faults) {
+        this.faults = faults;
+    }
+    
+    @Override
+    public void send(NotificationChannel channel, String recipient, String message) {
+        Fault fault = faults.getFault(channel);
+        
+        if (fault.getLatencyMs() > 0) {
+            try {
+                Thread.sleep(fault.getLatencyMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NotificationDeliveryException("Interrupted while sending to " + recipient, e);
+            }
+        }
+        
+        if (fault.getFailureRate() > 0 && ThreadLocalRandom.current().nextDouble() < fault.getFailureRate()) {
+            throw new NotificationDeliveryException("Injected " + channel + " provider failure for " + recipient);
+        }
+        
+        logger.info(message);
+    }
+    
+    @ConfigurationProperties(prefix = "los.notification.stub")
+    public static class FaultProperties {
+        
+        private Fault push = new Fault();
+        
+        private Fault sms = new Fault();
+        
+        private Fault system = new Fault();
+        
+        public Fault getPush() {
+            return push;
+        }
+        
+        public void setPush(Fault push) {
+            this.push = push;
+        }
+        
+        public Fault getSms() {
+            return sms;
+        }
+        
+        public void setSms(Fault sms) {
+            this.sms = sms;
+        }
+        
+        public Fault getSystem() {
+            return system;
+        }
+        
+        public void setSystem(Fault system) {
+            this.system = system;
+        }
+        
+        Fault getFault(NotificationChannel channel) {
+            return switch (channel) {
+                case PUSH -> push;
+                case SMS -> sms;
+                case SYSTEM -> system;
+            };
+        }
+    }
+    
+    public static class Fault {
+        
+        /** Artificial delay added to every send. */
+        private long latencyMs;
+        
+        /** Probability (0..1) that a send fails. */
+        private double failureRate;
+        
+        public long getLatencyMs() {
+            return latencyMs;
+        }
+        
+        public void setLatencyMs(long latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+        
+        public double getFailureRate() {
+            return failureRate;
+        }
+        
+        public void setFailureRate(double failureRate) {
+            this.failureRate = failureRate;
+        }
+    }
+}
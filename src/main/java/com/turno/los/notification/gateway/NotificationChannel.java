@@ -0,0 +1,26 @@
+package com.turno.los.notification.gateway;
+
+
+public enum NotificationChannel {
+    
+    PUSH("Push Notification"),
+    
+    SMS("SMS"),
+    
+    SYSTEM("System");
+    
+    private final String displayName;
+    
+    NotificationChannel(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
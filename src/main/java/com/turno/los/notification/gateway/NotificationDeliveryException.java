@@ -0,0 +1,13 @@
+package com.turno.los.notification.gateway;
+
+
+public class NotificationDeliveryException extends RuntimeException {
+    
+    public NotificationDeliveryException(String message) {
+        super(message);
+    }
+    
+    public NotificationDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,60 @@
+package com.turno.los.notification.gateway;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single entry point for outbound notifications.
+ * Each channel gets its own rate limit, bulkhead, circuit breaker and retry queue,
+ * so a degraded SMS provider cannot back up push delivery or the callers
+ * on the loan processing path.
+ */
+@Component
+@EnableConfigurationProperties(NotificationGatewayProperties.class)
+public class NotificationGateway {
+    
+    private final Map<NotificationChannel, ChannelGateway> channels = new EnumMap<>(NotificationChannel.class);
+    
+    @Autowired
+    public NotificationGateway(NotificationProvider provider, NotificationGatewayProperties properties) {
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            channels.put(channel, new ChannelGateway(channel, provider, properties.getChannel(channel)));
+        }
+    }
+    
+    /**
+     * Hand a notification to the channel. Returns immediately; delivery,
+     * throttling and retries happen on the channel's own threads.
+     */
+    public void dispatch(NotificationChannel channel, String recipient, String message) {
+        channels.get(channel).submit(recipient, message);
+    }
+    
+    @Scheduled(fixedDelayString = "${los.notification.gateway.retry-interval-ms:1000}")
+    public void retryDeferredNotifications() {
+        channels.values().forEach(ChannelGateway::drainRetryQueue);
+    }
+    
+    public boolean isCircuitOpen(NotificationChannel channel) {
+        return channels.get(channel).getCircuitState() == CircuitBreaker.State.OPEN;
+    }
+    
+    public Map<String, Map<String, Object>> describe() {
+        Map<String, Map<String, Object>> details = new LinkedHashMap<>();
+        channels.forEach((channel, gateway) -> details.put(channel.name().toLowerCase(), gateway.describe()));
+        return Collections.unmodifiableMap(details);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(gateway -> gateway.shutdown(5000));
+    }
+}
@@ -0,0 +1,34 @@
+package com.turno.los.notification.gateway;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes per-channel breaker state and queue depths under {@code /actuator/health}.
+ * A tripped channel is reported in the details but keeps the overall status UP,
+ * since loan processing is unaffected by a degraded notification provider.
+ */
+@Component
+public class NotificationGatewayHealthIndicator implements HealthIndicator {
+    
+    private final NotificationGateway notificationGateway;
+    
+    @Autowired
+    public NotificationGatewayHealthIndicator(NotificationGateway notificationGateway) {
+        this.notificationGateway = notificationGateway;
+    }
+    
+    @Override
+    public Health health() {
+        boolean degraded = false;
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            degraded |= notificationGateway.isCircuitOpen(channel);
+        }
+        
+        Health.Builder builder = Health.up().withDetail("degraded", degraded);
+        notificationGateway.describe().forEach(builder::withDetail);
+        return builder.build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.turno.los.notification.gateway;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-channel protection settings for the notification gateway
+ * ({@code los.notification.gateway.*}).
+ */
+@ConfigurationProperties(prefix = "los.notification.gateway")
+public class NotificationGatewayProperties {
+    
+    /**
+     * How often deferred notifications are retried.
+     */
+    private long retryIntervalMs = 1000;
+    
+    private Channel push = new Channel();
+    
+    private Channel sms = new Channel();
+    
+    private Channel system = new Channel();
+    
+    public long getRetryIntervalMs() {
+        return retryIntervalMs;
+    }
+    
+    public void setRetryIntervalMs(long retryIntervalMs) {
+        this.retryIntervalMs = retryIntervalMs;
+    }
+    
+    public Channel getPush() {
+        return push;
+    }
+    
+    public void setPush(Channel push) {
+        this.push = push;
+    }
+    
+    public Channel getSms() {
+        return sms;
+    }
+    
+    public void setSms(Channel sms) {
+        this.sms = sms;
+    }
+    
+    public Channel getSystem() {
+        return system;
+    }
+    
+    public void setSystem(Channel system) {
+        this.system = system;
+    }
+    
+    public Channel getChannel(NotificationChannel channel) {
+        return switch (channel) {
+            case PUSH -> push;
+            case SMS -> sms;
+            case SYSTEM -> system;
+        };
+    }
+    
+    public static class Channel {
+        
+        /** Sustained send rate allowed by the provider. */
+        private double ratePerSecond = 20;
+        
+        /** Maximum burst above the sustained rate. */
+        private int burst = 40;
+        
+        /** Bulkhead: number of concurrent in-flight provider calls. */
+        private int maxConcurrent = 2;
+        
+        /** Bulkhead: calls waiting for a free slot before being deferred. */
+        private int queueCapacity = 20;
+        
+        /** Deferred notifications kept for retry before new ones are dropped. */
+        private int retryQueueCapacity = 500;
+        
+        /** Delivery attempts per notification, including the first one. */
+        private int maxAttempts = 3;
+        
+        /** Consecutive failures that open the circuit breaker. */
+        private int failureThreshold = 5;
+        
+        /** How long an open breaker rejects calls before probing again. */
+        private long openDurationMs = 30000;
+        
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+        
+        public void setRatePerSecond(double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+        
+        public int getBurst() {
+            return burst;
+        }
+        
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+        
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+        
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+        
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+        
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+        
+        public int getRetryQueueCapacity() {
+            return retryQueueCapacity;
+        }
+        
+        public void setRetryQueueCapacity(int retryQueueCapacity) {
+            this.retryQueueCapacity = retryQueueCapacity;
+        }
+        
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+        
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+        
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+        
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+        
+        public long getOpenDurationMs() {
+            return openDurationMs;
+        }
+        
+        public void setOpenDurationMs(long openDurationMs) {
+            this.openDurationMs = openDurationMs;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.turno.los.notification.gateway;
+
+/**
+ * Outbound delivery provider behind the notification gateway.
+ * Implementations talk to the actual push/SMS vendors and signal failures
+ * by throwing {@link NotificationDeliveryException}.
+ */
+public interface NotificationProvider {
+    
+    void send(NotificationChannel channel, String recipient, String message);
+}
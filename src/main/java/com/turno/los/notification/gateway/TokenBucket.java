@@ -0,0 +1,41 @@
+package com.turno.los.notification.gateway;
+
+/**
+ * Simple token bucket used to stay under a provider's rate limit.
+ * Tokens refill continuously at {@code ratePerSecond} up to {@code capacity}.
+ */
+class TokenBucket {
+    
+    private final double capacity;
+    private final double refillPerNano;
+    
+    private double tokens;
+    private long lastRefillNanos;
+    
+    TokenBucket(double ratePerSecond, int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.refillPerNano = ratePerSecond / 1_000_000_000d;
+        this.tokens = this.capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+    
+    synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+    
+    synchronized double availableTokens() {
+        refill();
+        return tokens;
+    }
+    
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+    }
+}
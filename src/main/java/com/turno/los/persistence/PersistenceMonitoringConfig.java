@@ -0,0 +1,39 @@
+package com.turno.los.persistence;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+
+@Configuration
+public class PersistenceMonitoringConfig {
+    
+    /**
+     * Attach the slow-query listener to every Spring Data repository factory,
+     * the same hook Spring Boot uses for its repository timers. Static and lazy
+     * so the listener's dependencies are not initialized during post-processing.
+     */
+    @Bean
+    public static BeanPostProcessor slowRepositoryInvocationListenerPostProcessor(
+            ObjectProvider<SlowRepositoryInvocationListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport) {
+                    ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                            factory.addInvocationListener(invocation -> listener.getObject().afterInvocation(invocation)));
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryTrackerCustomizer(RequestQueryTracker requestQueryTracker) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, requestQueryTracker);
+    }
+}
@@ -0,0 +1,104 @@
+package com.turno.los.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements each web request issues and flags likely N+1 patterns:
+ * the same statement run {@code los.persistence.n-plus-one-threshold} or more times
+ * within one request.
+ * <p>
+ * Registered both as Hibernate's {@link StatementInspector} and as an MVC
+ * interceptor. Outside a request (scheduler, async processing) nothing is tracked
+ * and inspection is a single thread-local read.
+ */
+@Component
+public class RequestQueryTracker implements StatementInspector, AsyncHandlerInterceptor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RequestQueryTracker.class);
+    
+    private static final ThreadLocal<Map<String, Integer>> STATEMENTS = new ThreadLocal<>();
+    
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    private final DistributionSummary statementsPerRequest;
+    
+    @Autowired
+    public RequestQueryTracker(MeterRegistry meterRegistry,
+                               @Value("${los.persistence.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.statementsPerRequest = DistributionSummary.builder("los.persistence.request.statements")
+                .description("SQL statements issued per web request")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        Map<String, Integer> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        STATEMENTS.set(new HashMap<>());
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        STATEMENTS.remove();
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Map<String, Integer> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        if (statements == null || statements.isEmpty()) {
+            return;
+        }
+        
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : statements.entrySet()) {
+            total += entry.getValue();
+            if (entry.getValue() >= nPlusOneThreshold) {
+                String handlerName = handlerName(handler);
+                Counter.builder("los.persistence.n_plus_one")
+                        .description("Requests that repeated one statement at least the N+1 threshold")
+                        .tag("handler", handlerName)
+                        .register(meterRegistry)
+                        .increment();
+                logger.warn("Possible N+1 in {} {} ({}): statement ran {} times: {}",
+                           request.getMethod(), request.getRequestURI(), handlerName,
+                           entry.getValue(), entry.getKey());
+            }
+        }
+        statementsPerRequest.record(total);
+    }
+    
+    private static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,62 @@
+package com.turno.los.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs repository calls slower than {@code los.persistence.slow-query.threshold-ms}.
+ * <p>
+ * Every slow call is counted in {@code los.persistence.slow.invocations}, but only
+ * a {@code sample-rate} fraction is logged, so a degraded database cannot flood
+ * the log. Per-method latency itself is Spring Boot's
+ * {@code spring.data.repository.invocations} timer.
+ */
+@Component
+public class SlowRepositoryInvocationListener implements RepositoryMethodInvocationListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SlowRepositoryInvocationListener.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final long thresholdMs;
+    private final double sampleRate;
+    
+    @Autowired
+    public SlowRepositoryInvocationListener(MeterRegistry meterRegistry,
+                                            @Value("${los.persistence.slow-query.threshold-ms:200}") long thresholdMs,
+                                            @Value("${los.persistence.slow-query.sample-rate:1.0}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdMs = thresholdMs;
+        this.sampleRate = sampleRate;
+    }
+    
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        long durationMs = invocation.getDuration(TimeUnit.MILLISECONDS);
+        if (durationMs < thresholdMs) {
+            return;
+        }
+        
+        String repository = invocation.getRepositoryInterface().getSimpleName();
+        String method = invocation.getMethod().getName();
+        Counter.builder("los.persistence.slow.invocations")
+                .description("Repository calls slower than the slow-query threshold")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry)
+                .increment();
+        
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.warn("Slow repository call {}.{} took {} ms ({})",
+                       repository, method, durationMs, invocation.getResult().getState());
+        }
+    }
+}
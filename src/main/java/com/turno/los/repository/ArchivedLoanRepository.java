@@ -0,0 +1,16 @@
+package com.turno.los.repository;
+
+import com.turno.los.entity.ArchivedLoan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+
+@Repository
+public interface ArchivedLoanRepository extends JpaRepository<ArchivedLoan, Long>, ArchivedLoanResponseRepository {
+    
+    @Query("SELECT a.status, COUNT(a) FROM ArchivedLoan a GROUP BY a.status")
+    List<Object[]> countGroupByStatus();
+}
@@ -0,0 +1,32 @@
+package com.turno.los.repository;
+
+import com.turno.los.dto.LoanResponse;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Custom fragment of {@link ArchivedLoanRepository} for the lookups that fall
+ * back to the archive when a loan is no longer live. Run through the
+ * EntityManager directly, like {@link LoanResponseRepository}.
+ */
+public interface ArchivedLoanResponseRepository {
+    
+    /**
+     * Same select list as {@link LoanResponseRepository#LOAN_RESPONSE_PROJECTION}, so an
+     * archived loan reads exactly as it did while live.
+     */
+    String ARCHIVED_LOAN_RESPONSE_PROJECTION =
+        "SELECT new com.turno.los.dto.LoanResponse(" +
+        "a.id, a.loanId, a.customerName, a.customerPhone, a.loanAmount, a.loanType, a.status, " +
+        "a.assignedAgentId, a.processingStartedAt, a.processingCompletedAt, a.decisionReason, " +
+        "a.createdAt, a.updatedAt) FROM ArchivedLoan a ";
+    
+    Optional<LoanResponse> findResponseById(Long id);
+    
+    Optional<LoanResponse> findResponseByLoanId(String loanId);
+    
+    Optional<LocalDateTime> findUpdatedAtById(Long id);
+    
+    Optional<LocalDateTime> findUpdatedAtByLoanId(String loanId);
+}
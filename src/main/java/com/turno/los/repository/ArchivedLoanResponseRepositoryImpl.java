@@ -0,0 +1,44 @@
+package com.turno.los.repository;
+
+import com.turno.los.dto.LoanResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+
+public class ArchivedLoanResponseRepositoryImpl implements ArchivedLoanResponseRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Optional<LoanResponse> findResponseById(Long id) {
+        return first(entityManager.createQuery(ARCHIVED_LOAN_RESPONSE_PROJECTION + "WHERE a.id = :id", LoanResponse.class)
+                .setParameter("id", id));
+    }
+    
+    @Override
+    public Optional<LoanResponse> findResponseByLoanId(String loanId) {
+        return first(entityManager.createQuery(ARCHIVED_LOAN_RESPONSE_PROJECTION + "WHERE a.loanId = :loanId", LoanResponse.class)
+                .setParameter("loanId", loanId));
+    }
+    
+    @Override
+    public Optional<LocalDateTime> findUpdatedAtById(Long id) {
+        return first(entityManager.createQuery("SELECT a.updatedAt FROM ArchivedLoan a WHERE a.id = :id", LocalDateTime.class)
+                .setParameter("id", id));
+    }
+    
+    @Override
+    public Optional<LocalDateTime> findUpdatedAtByLoanId(String loanId) {
+        return first(entityManager.createQuery("SELECT a.updatedAt FROM ArchivedLoan a WHERE a.loanId = :loanId", LocalDateTime.class)
+                .setParameter("loanId", loanId));
+    }
+    
+    private static <T> Optional<T> first(TypedQuery<T> query) {
+        return query.setMaxResults(1).getResultList().stream().findFirst();
+    }
+}
@@ -5,14 +5,17 @@ import com.turno.los.enums.LoanStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LoanRepository extends JpaRepository<Loan, Long> {
+public interface LoanRepository extends JpaRepository<Loan, Long>, LoanSearchRepository, LoanResponseRepository {
     
     
     Optional<Loan> findByLoanId(String loanId);
@@ -23,15 +26,45 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
     
     List<Loan> findByAssignedAgentId(Long agentId);
     
+    /**
+     * Record that processing has started, touching nothing else and only while
+     * the loan is still {@code APPLIED}, so a late processor cannot write a
+     * stale copy over an outcome committed in the meantime. Publishes no status
+     * event, so the caller evicts the loan from {@code LoanResponseCache}.
+     * 
+     * @return Number of rows updated; 0 if the loan has moved on
+     */
+    @Modifying
+    @Query("UPDATE Loan l SET l.processingStartedAt = :startedAt, l.updatedAt = :startedAt " +
+           "WHERE l.id = :id AND l.status = 'APPLIED'")
+    int markProcessingStarted(@Param("id") Long id, @Param("startedAt") LocalDateTime startedAt);
+    
     long countByStatus(LoanStatus status);
     
-    @Query("SELECT l FROM Loan l WHERE l.status = 'APPLIED' AND l.assignedAgentId IS NULL")
-    List<Loan> findLoansReadyForProcessing();
+    @Query("SELECT l.status, COUNT(l) FROM Loan l GROUP BY l.status")
+    List<Object[]> countGroupByStatus();
     
-    @Query("SELECT l.customerName, COUNT(l) as approvedCount " +
+    @Query("SELECT l.customerName, COUNT(l) " +
            "FROM Loan l " +
            "WHERE l.status IN ('APPROVED_BY_SYSTEM', 'APPROVED_BY_AGENT') " +
-           "GROUP BY l.customerName " +
-           "ORDER BY approvedCount DESC")
-    List<Object[]> findTopCustomersByApprovedLoans(Pageable pageable);
+           "GROUP BY l.customerName")
+    List<Object[]> countApprovedLoansByCustomer();
+    
+    /**
+     * Customers with the most approved loans, live and archived together,
+     * highest first. Native because JPQL has no UNION over two entities;
+     * one statement, so a chunk the archiver moves meanwhile is counted once.
+     * 
+     * @param limit Number of customers to return
+     * @return Rows of (customer name, approved count as a {@link Number})
+     */
+    @Query(value = "SELECT customer_name, SUM(approved) AS approved FROM (" +
+                   "SELECT customer_name, COUNT(*) AS approved FROM loans " +
+                   "WHERE status IN ('APPROVED_BY_SYSTEM', 'APPROVED_BY_AGENT') GROUP BY customer_name " +
+                   "UNION ALL " +
+                   "SELECT customer_name, COUNT(*) AS approved FROM loans_archive " +
+                   "WHERE status IN ('APPROVED_BY_SYSTEM', 'APPROVED_BY_AGENT') GROUP BY customer_name" +
+                   ") approvals GROUP BY customer_name ORDER BY approved DESC, customer_name LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findTopApprovedCustomers(@Param("limit") int limit);
 }
\ No newline at end of file
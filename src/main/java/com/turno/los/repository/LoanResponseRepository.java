@@ -0,0 +1,47 @@
+package com.turno.los.repository;
+
+import com.turno.los.dto.LoanCursor;
+import com.turno.los.dto.LoanResponse;
+import com.turno.los.enums.LoanStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom fragment of {@link LoanRepository} for the read-only projections behind
+ * the lookup and listing endpoints. These go to the EntityManager directly:
+ * Spring Data JPA re-parses a {@code @Query} string on every call to apply
+ * sorting, which cost more than the lookup itself.
+ */
+public interface LoanResponseRepository {
+    
+    /**
+     * Select list shared by the read-only projection queries. Rows go straight into
+     * {@link LoanResponse} without creating managed entities or dirty-checking snapshots.
+     */
+    String LOAN_RESPONSE_PROJECTION =
+        "SELECT new com.turno.los.dto.LoanResponse(" +
+        "l.id, l.loanId, l.customerName, l.customerPhone, l.loanAmount, l.loanType, l.status, " +
+        "l.assignedAgentId, l.processingStartedAt, l.processingCompletedAt, l.decisionReason, " +
+        "l.createdAt, l.updatedAt) FROM Loan l ";
+    
+    Optional<LoanResponse> findResponseById(Long id);
+    
+    Optional<LoanResponse> findResponseByLoanId(String loanId);
+    
+    Optional<LocalDateTime> findUpdatedAtById(Long id);
+    
+    Optional<LocalDateTime> findUpdatedAtByLoanId(String loanId);
+    
+    /**
+     * Keyset listing by status, newest first, starting after {@code after}.
+     * Served by idx_loan_status_created_at_id in index order, reading only the
+     * rows returned, so no count query runs and depth does not matter.
+     * 
+     * @param status The loan status
+     * @param after Cursor of the last row already returned, or null for the first page
+     * @param limit Maximum number of rows to fetch
+     */
+    List<LoanResponse> findPageByStatus(LoanStatus status, LoanCursor after, int limit);
+}
@@ -0,0 +1,69 @@
+package com.turno.los.repository;
+
+import com.turno.los.dto.LoanCursor;
+import com.turno.los.dto.LoanResponse;
+import com.turno.los.enums.LoanStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+
+public class LoanResponseRepositoryImpl implements LoanResponseRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Optional<LoanResponse> findResponseById(Long id) {
+        return first(entityManager.createQuery(LOAN_RESPONSE_PROJECTION + "WHERE l.id = :id", LoanResponse.class)
+                .setParameter("id", id));
+    }
+    
+    @Override
+    public Optional<LoanResponse> findResponseByLoanId(String loanId) {
+        return first(entityManager.createQuery(LOAN_RESPONSE_PROJECTION + "WHERE l.loanId = :loanId", LoanResponse.class)
+                .setParameter("loanId", loanId));
+    }
+    
+    @Override
+    public Optional<LocalDateTime> findUpdatedAtById(Long id) {
+        return first(entityManager.createQuery("SELECT l.updatedAt FROM Loan l WHERE l.id = :id", LocalDateTime.class)
+                .setParameter("id", id));
+    }
+    
+    @Override
+    public Optional<LocalDateTime> findUpdatedAtByLoanId(String loanId) {
+        return first(entityManager.createQuery("SELECT l.updatedAt FROM Loan l WHERE l.loanId = :loanId", LocalDateTime.class)
+                .setParameter("loanId", loanId));
+    }
+    
+    @Override
+    public List<LoanResponse> findPageByStatus(LoanStatus status, LoanCursor after, int limit) {
+        // The constant status leads the ORDER BY because H2 only follows an index's
+        // order when the sort names its leading column. The redundant
+        // createdAt <= cursor bound gives the index scan its start; the OR alone
+        // can only be applied row by row from the newest loan down to the cursor.
+        TypedQuery<LoanResponse> query;
+        if (after == null) {
+            query = entityManager.createQuery(LOAN_RESPONSE_PROJECTION + "WHERE l.status = :status " +
+                    "ORDER BY l.status, l.createdAt DESC, l.id DESC", LoanResponse.class);
+        } else {
+            query = entityManager.createQuery(LOAN_RESPONSE_PROJECTION + "WHERE l.status = :status " +
+                    "AND l.createdAt <= :createdAt AND (l.createdAt < :createdAt OR l.id < :id) " +
+                    "ORDER BY l.status, l.createdAt DESC, l.id DESC", LoanResponse.class)
+                .setParameter("createdAt", after.getCreatedAt())
+                .setParameter("id", after.getId());
+        }
+        return query.setParameter("status", status)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    private static <T> Optional<T> first(TypedQuery<T> query) {
+        return query.setMaxResults(1).getResultList().stream().findFirst();
+    }
+}
@@ -0,0 +1,47 @@
+package com.turno.los.repository;
+
+import com.turno.los.entity.LoanRollup;
+import com.turno.los.enums.LoanType;
+import com.turno.los.enums.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+@Repository
+public interface LoanRollupRepository extends JpaRepository<LoanRollup, Long> {
+    
+    /**
+     * Add deltas to an existing bucket in place.
+     * 
+     * @return Number of rows updated; 0 if the bucket does not exist yet
+     */
+    @Modifying
+    @Query("UPDATE LoanRollup r SET r.appliedCount = r.appliedCount + :appliedCount, " +
+           "r.appliedAmount = r.appliedAmount + :appliedAmount, " +
+           "r.approvedCount = r.approvedCount + :approvedCount, " +
+           "r.rejectedCount = r.rejectedCount + :rejectedCount " +
+           "WHERE r.granularity = :granularity AND r.bucketStart = :bucketStart AND r.loanType = :loanType")
+    int addToBucket(@Param("granularity") RollupGranularity granularity,
+                    @Param("bucketStart") LocalDateTime bucketStart,
+                    @Param("loanType") LoanType loanType,
+                    @Param("appliedCount") long appliedCount,
+                    @Param("appliedAmount") BigDecimal appliedAmount,
+                    @Param("approvedCount") long approvedCount,
+                    @Param("rejectedCount") long rejectedCount);
+    
+    @Query("SELECT r FROM LoanRollup r WHERE r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "AND (:loanType IS NULL OR r.loanType = :loanType) " +
+           "ORDER BY r.bucketStart, r.loanType")
+    List<LoanRollup> findBuckets(@Param("granularity") RollupGranularity granularity,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 @Param("loanType") LoanType loanType);
+}
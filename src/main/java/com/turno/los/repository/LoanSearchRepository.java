@@ -0,0 +1,23 @@
+package com.turno.los.repository;
+
+import com.turno.los.dto.LoanCursor;
+import com.turno.los.dto.LoanResponse;
+import com.turno.los.dto.LoanSearchCriteria;
+
+import java.util.List;
+
+/**
+ * Custom fragment of {@link LoanRepository} for keyset-paginated dynamic search.
+ */
+public interface LoanSearchRepository {
+    
+    /**
+     * Loans matching {@code criteria}, newest first, starting after {@code after},
+     * projected directly into {@link LoanResponse}.
+     * 
+     * @param criteria Search filters
+     * @param after Cursor of the last row already returned, or null for the first page
+     * @param limit Maximum number of rows to fetch
+     */
+    List<LoanResponse> search(LoanSearchCriteria criteria, LoanCursor after, int limit);
+}
@@ -0,0 +1,55 @@
+package com.turno.los.repository;
+
+import com.turno.los.dto.LoanCursor;
+import com.turno.los.dto.LoanResponse;
+import com.turno.los.dto.LoanSearchCriteria;
+import com.turno.los.entity.Loan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+public class LoanSearchRepositoryImpl implements LoanSearchRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<LoanResponse> search(LoanSearchCriteria criteria, LoanCursor after, int limit) {
+        Specification<Loan> spec = LoanSpecifications.matching(criteria);
+        Specification<Loan> filter = after == null ? spec : spec.and(LoanSpecifications.after(after));
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LoanResponse> query = cb.createQuery(LoanResponse.class);
+        Root<Loan> root = query.from(Loan.class);
+        
+        query.select(cb.construct(LoanResponse.class,
+            root.get("id"), root.get("loanId"), root.get("customerName"), root.get("customerPhone"),
+            root.get("loanAmount"), root.get("loanType"), root.get("status"), root.get("assignedAgentId"),
+            root.get("processingStartedAt"), root.get("processingCompletedAt"), root.get("decisionReason"),
+            root.get("createdAt"), root.get("updatedAt")));
+        query.where(filter.toPredicate(root, query, cb));
+        
+        // Sorting by the constant leading column changes nothing, but without it H2
+        // sorts every matching row instead of reading the index in order
+        List<Order> order = new ArrayList<>();
+        String leading = LoanSpecifications.leadingEquality(criteria);
+        if (leading != null) {
+            order.add(cb.asc(root.get(leading)));
+        }
+        order.add(cb.desc(root.get("createdAt")));
+        order.add(cb.desc(root.get("id")));
+        query.orderBy(order);
+        
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.turno.los.repository;
+
+import com.turno.los.dto.LoanCursor;
+import com.turno.los.dto.LoanSearchCriteria;
+import com.turno.los.entity.Loan;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria predicates for dynamic loan search.
+ */
+public final class LoanSpecifications {
+    
+    private LoanSpecifications() {}
+    
+    public static Specification<Loan> matching(LoanSearchCriteria criteria) {
+        List<Specification<Loan>> specs = new ArrayList<>();
+        
+        if (criteria.getStatus() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("status"), criteria.getStatus()));
+        }
+        if (criteria.getLoanType() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("loanType"), criteria.getLoanType()));
+        }
+        if (criteria.getMinAmount() != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("loanAmount"), criteria.getMinAmount()));
+        }
+        if (criteria.getMaxAmount() != null) {
+            specs.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("loanAmount"), criteria.getMaxAmount()));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            specs.add((root, query, cb) -> cb.lessThan(root.get("createdAt"), criteria.getCreatedTo()));
+        }
+        if (criteria.getAssignedAgentId() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("assignedAgentId"), criteria.getAssignedAgentId()));
+        }
+        if (criteria.getCustomerPhone() != null && !criteria.getCustomerPhone().isBlank()) {
+            specs.add((root, query, cb) -> cb.equal(root.get("customerPhone"), criteria.getCustomerPhone()));
+        }
+        
+        return Specification.allOf(specs);
+    }
+    
+    /**
+     * The attribute whose equality filter leads the index that serves this search,
+     * or null when only the created-at range can. The most selective one wins.
+     */
+    public static String leadingEquality(LoanSearchCriteria criteria) {
+        if (criteria.getCustomerPhone() != null && !criteria.getCustomerPhone().isBlank()) {
+            return "customerPhone";
+        }
+        if (criteria.getAssignedAgentId() != null) {
+            return "assignedAgentId";
+        }
+        if (criteria.getStatus() != null) {
+            return "status";
+        }
+        return null;
+    }
+    
+    /**
+     * Rows strictly after the cursor in {@code (created_at DESC, id DESC)} order.
+     * The redundant {@code created_at <= cursor} bound gives the index a place to
+     * seek to; the OR alone would be filtered row by row from the start.
+     */
+    public static Specification<Loan> after(LoanCursor cursor) {
+        return (root, query, cb) -> cb.and(
+            cb.lessThanOrEqualTo(root.get("createdAt"), cursor.getCreatedAt()),
+            cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.getCreatedAt()),
+                cb.lessThan(root.get("id"), cursor.getId())
+            )
+        );
+    }
+}
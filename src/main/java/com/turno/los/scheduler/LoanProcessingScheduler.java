@@ -1,6 +1,8 @@
 package com.turno.los.scheduler;
 
+import com.turno.los.service.CustomerLeaderboard;
 import com.turno.los.service.LoanService;
+import com.turno.los.service.LoanStatusCounter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,8 @@ import org.springframework.stereotype.Component;
 
 /**
  * Scheduler for background loan processing tasks.
+ * Intervals are in application time: under the simulation profile these
+ * tasks run on the virtual clock's task scheduler.
  */
 @Component
 public class LoanProcessingScheduler {
@@ -16,17 +20,22 @@ public class LoanProcessingScheduler {
     private static final Logger logger = LoggerFactory.getLogger(LoanProcessingScheduler.class);
     
     private final LoanService loanService;
+    private final LoanStatusCounter loanStatusCounter;
+    private final CustomerLeaderboard customerLeaderboard;
     
     @Autowired
-    public LoanProcessingScheduler(LoanService loanService) {
+    public LoanProcessingScheduler(LoanService loanService, LoanStatusCounter loanStatusCounter,
+                                   CustomerLeaderboard customerLeaderboard) {
         this.loanService = loanService;
+        this.loanStatusCounter = loanStatusCounter;
+        this.customerLeaderboard = customerLeaderboard;
     }
     
     /**
      * Scheduled task to process loans that are ready for automated processing.
-     * Runs every 30 seconds.
+     * Runs every 30 seconds by default.
      */
-    @Scheduled(fixedDelay = 30000) // 30 seconds
+    @Scheduled(fixedDelayString = "${los.processing.poll-interval-ms:30000}")
     public void processLoansReadyForProcessing() {
         try {
             logger.debug("Starting scheduled loan processing task");
@@ -37,11 +46,40 @@ public class LoanProcessingScheduler {
         }
     }
     
+    /**
+     * Scheduled task to correct drift in the in-memory status counts
+     * with a single GROUP BY query.
+     * Runs every minute by default.
+     */
+    @Scheduled(fixedDelayString = "${los.status-counter.reconcile-interval-ms:60000}")
+    public void reconcileStatusCounts() {
+        try {
+            loanStatusCounter.reconcile();
+        } catch (Exception e) {
+            logger.error("Error reconciling loan status counts", e);
+        }
+    }
+    
+    /**
+     * Scheduled task to correct drift in the customer leaderboard and
+     * re-pick the customers it tracks, with a single GROUP BY query.
+     * Runs every 5 minutes by default.
+     */
+    @Scheduled(fixedDelayString = "${los.leaderboard.reconcile-interval-ms:300000}",
+               initialDelayString = "${los.leaderboard.reconcile-interval-ms:300000}")
+    public void reconcileCustomerLeaderboard() {
+        try {
+            customerLeaderboard.rebuild();
+        } catch (Exception e) {
+            logger.error("Error reconciling customer leaderboard", e);
+        }
+    }
+    
     /**
      * Scheduled task to log system status.
-     * Runs every 5 minutes.
+     * Runs every 5 minutes by default.
      */
-    @Scheduled(fixedDelay = 300000) // 5 minutes
+    @Scheduled(fixedDelayString = "${los.status-report.interval-ms:300000}")
     public void logSystemStatus() {
         try {
             logger.info("=== System Status Report ===");
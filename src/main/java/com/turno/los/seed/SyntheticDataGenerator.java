@@ -0,0 +1,252 @@
+package com.turno.los.seed;
+
+import com.turno.los.entity.Agent;
+import com.turno.los.entity.Loan;
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+import com.turno.los.service.LoanService;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic agents and loans. Every value is derived from the
+ * seed and the row's ID alone, so a data set is identical whatever the batch
+ * size or number of loader threads.
+ * <p>
+ * Agents form a tree with {@code spanOfControl} reports per manager. Loans are
+ * spread evenly over {@code days} up to {@code anchor}, in ID order. Each loan's
+ * status follows from its age: the newest are still {@code APPLIED}, older
+ * ones were classified by {@link LoanService#applyBusinessRules}, and loans
+ * sent to review were assigned to an eligible agent, who decided after an
+ * exponentially distributed review time unless the review is still open.
+ */
+class SyntheticDataGenerator {
+    
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Carlos", "Karen",
+        "Priya", "Wei", "Aisha", "Mohammed", "Olga", "Kenji", "Fatima", "Luis", "Ananya", "Chen"
+    };
+    
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+        "Lee", "Patel", "Kumar", "Nguyen", "Kim", "Wang", "Singh", "Ali", "Ivanova", "Tanaka"
+    };
+    
+    // Share of applications (cumulative) and median amount for each entry of TYPES
+    private static final LoanType[] TYPES = {LoanType.PERSONAL, LoanType.HOME, LoanType.AUTO, LoanType.BUSINESS};
+    private static final double[] TYPE_CUMULATIVE_SHARE = {0.45, 0.60, 0.85, 1.0};
+    private static final double[] MEDIAN_AMOUNT = {12_000, 180_000, 30_000, 80_000};
+    private static final double AMOUNT_SIGMA = 0.8;
+    
+    private static final double[] AGENT_LIMITS = {50_000, 75_000, 100_000, 150_000, 200_000, 300_000};
+    private static final double[] MANAGER_LIMITS = {300_000, 500_000, 1_000_000};
+    
+    private static final long APPLIED_WINDOW_SECONDS = 60;
+    private static final double MEAN_REVIEW_SECONDS = 6 * 3600;
+    private static final double AGENT_APPROVAL_RATE = 0.7;
+    
+    private final long seed;
+    private final int agentCount;
+    private final int spanOfControl;
+    private final long loanCount;
+    private final long customerCount;
+    private final LocalDateTime start;
+    private final long spanSeconds;
+    
+    // ACTIVE agents by ascending limit, for picking one who can take a loan amount
+    private double[] eligibleLimits = new double[0];
+    private long[] eligibleAgentIds = new long[0];
+    
+    SyntheticDataGenerator(long seed, int agentCount, int spanOfControl, long loanCount,
+                           LocalDateTime anchor, int days) {
+        this.seed = seed;
+        this.agentCount = agentCount;
+        this.spanOfControl = spanOfControl;
+        this.loanCount = loanCount;
+        // Most customers borrow once; a skewed few come back many times
+        this.customerCount = Math.max(1, loanCount * 6 / 10);
+        this.spanSeconds = days * 86_400L;
+        this.start = anchor.minusSeconds(spanSeconds);
+    }
+    
+    /**
+     * Generate the agents with IDs {@code 1..agentCount}, managers before their reports.
+     * Must be called before {@link #loans}.
+     */
+    List<Agent> agents() {
+        List<Agent> agents = new ArrayList<>(agentCount);
+        List<double[]> eligible = new ArrayList<>();
+        for (int index = 0; index < agentCount; index++) {
+            long id = index + 1L;
+            SplittableRandom random = random(-id);
+            boolean isManager = (long) index * spanOfControl + 1 < agentCount;
+            
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            Agent agent = new Agent(String.format("AGENT-%06d", id), first + " " + last,
+                    String.format("%s.%s.%d@turno.com", first, last, id).toLowerCase());
+            agent.setId(id);
+            agent.setPhone(String.format("+1%010d", 3_000_000_000L + id));
+            agent.setCreatedAt(start);
+            agent.setUpdatedAt(start);
+            if (index > 0) {
+                agent.setManager(agents.get((index - 1) / spanOfControl));
+            }
+            
+            if (index == 0) {
+                agent.setMaxLoanAmount(null);
+            } else if (isManager) {
+                agent.setMaxLoanAmount(MANAGER_LIMITS[random.nextInt(MANAGER_LIMITS.length)]);
+            } else {
+                agent.setMaxLoanAmount(AGENT_LIMITS[random.nextInt(AGENT_LIMITS.length)]);
+            }
+            agent.setSpecializations(specializations(random));
+            
+            double status = random.nextDouble();
+            if (!isManager && status < 0.06) {
+                agent.setStatus(Agent.AgentStatus.INACTIVE);
+            } else if (!isManager && status < 0.08) {
+                agent.setStatus(Agent.AgentStatus.SUSPENDED);
+            } else {
+                double limit = agent.getMaxLoanAmount() != null ? agent.getMaxLoanAmount() : Double.MAX_VALUE;
+                eligible.add(new double[] {limit, id});
+            }
+            agents.add(agent);
+        }
+        
+        eligible.sort((a, b) -> Double.compare(a[0], b[0]));
+        eligibleLimits = new double[eligible.size()];
+        eligibleAgentIds = new long[eligible.size()];
+        for (int i = 0; i < eligible.size(); i++) {
+            eligibleLimits[i] = eligible.get(i)[0];
+            eligibleAgentIds[i] = (long) eligible.get(i)[1];
+        }
+        return agents;
+    }
+    
+    /**
+     * Generate the loans with IDs {@code firstId} to {@code firstId + count - 1}.
+     */
+    List<Loan> loans(long firstId, int count) {
+        List<Loan> loans = new ArrayList<>(count);
+        for (long id = firstId; id < firstId + count; id++) {
+            loans.add(loan(id));
+        }
+        return loans;
+    }
+    
+    private Loan loan(long id) {
+        SplittableRandom random = random(id);
+        
+        int type = typeIndex(random.nextDouble());
+        BigDecimal amount = amount(type, random);
+        long customer = (long) (customerCount * Math.pow(random.nextDouble(), 1.5));
+        Loan loan = new Loan(String.format("LOAN-%010d", id), customerName(customer),
+                String.format("+1%010d", 2_000_000_000L + customer), amount, TYPES[type]);
+        loan.setId(id);
+        
+        // Evenly spaced in ID order, with jitter inside each slot
+        double slot = (double) spanSeconds / loanCount;
+        long offsetSeconds = (long) ((id - 1 + random.nextDouble()) * slot);
+        LocalDateTime createdAt = start.plusSeconds(offsetSeconds);
+        long ageSeconds = spanSeconds - offsetSeconds;
+        loan.setCreatedAt(createdAt);
+        loan.setUpdatedAt(createdAt);
+        
+        if (ageSeconds < APPLIED_WINDOW_SECONDS) {
+            return loan;
+        }
+        
+        LocalDateTime startedAt = createdAt.plusSeconds(random.nextLong(0, 30));
+        LocalDateTime completedAt = startedAt.plusSeconds(random.nextLong(20, 31));
+        loan.setProcessingStartedAt(startedAt);
+        loan.setProcessingCompletedAt(completedAt);
+        loan.setUpdatedAt(completedAt);
+        LoanStatus status = LoanService.applyBusinessRules(loan);
+        loan.setStatus(status);
+        
+        if (status == LoanStatus.UNDER_REVIEW) {
+            Long agentId = eligibleAgent(amount.doubleValue(), random);
+            loan.setAssignedAgentId(agentId);
+            long reviewSeconds = (long) (-Math.log(1 - random.nextDouble()) * MEAN_REVIEW_SECONDS);
+            LocalDateTime decidedAt = completedAt.plusSeconds(reviewSeconds);
+            if (agentId != null && decidedAt.isBefore(start.plusSeconds(spanSeconds))) {
+                boolean approve = random.nextDouble() < AGENT_APPROVAL_RATE;
+                loan.setStatus(approve ? LoanStatus.APPROVED_BY_AGENT : LoanStatus.REJECTED_BY_AGENT);
+                loan.setDecisionReason("Decision made by agent: " + (approve ? "Approve" : "Reject"));
+                loan.setUpdatedAt(decidedAt);
+            }
+        }
+        return loan;
+    }
+    
+    private static int typeIndex(double draw) {
+        int index = 0;
+        while (draw > TYPE_CUMULATIVE_SHARE[index]) {
+            index++;
+        }
+        return index;
+    }
+    
+    /**
+     * Log-normal around the type's median, rounded to 50; about one in a
+     * hundred is a token amount below the minimum.
+     */
+    private static BigDecimal amount(int type, SplittableRandom random) {
+        if (random.nextDouble() < 0.01) {
+            return BigDecimal.valueOf(random.nextInt(100, 1000)).setScale(2, RoundingMode.UNNECESSARY);
+        }
+        double amount = MEDIAN_AMOUNT[type] * Math.exp(AMOUNT_SIGMA * random.nextGaussian());
+        long rounded = Math.max(1000, Math.min(2_000_000, Math.round(amount / 50) * 50));
+        return BigDecimal.valueOf(rounded).setScale(2, RoundingMode.UNNECESSARY);
+    }
+    
+    private Long eligibleAgent(double amount, SplittableRandom random) {
+        int from = Arrays.binarySearch(eligibleLimits, amount);
+        if (from < 0) {
+            from = -from - 1;
+        } else {
+            while (from > 0 && eligibleLimits[from - 1] == amount) {
+                from--;
+            }
+        }
+        if (from >= eligibleAgentIds.length) {
+            return null;
+        }
+        return eligibleAgentIds[random.nextInt(from, eligibleAgentIds.length)];
+    }
+    
+    private static String specializations(SplittableRandom random) {
+        double draw = random.nextDouble();
+        if (draw < 0.2) {
+            return null;
+        }
+        LoanType first = TYPES[typeIndex(random.nextDouble())];
+        LoanType second = TYPES[typeIndex(random.nextDouble())];
+        return draw < 0.6 || first == second ? first.name() : first.name() + "," + second.name();
+    }
+    
+    private static String customerName(long customer) {
+        int first = (int) (customer % FIRST_NAMES.length);
+        long rest = customer / FIRST_NAMES.length;
+        char initial = (char) ('A' + rest % 26);
+        int last = (int) ((rest / 26) % LAST_NAMES.length);
+        return FIRST_NAMES[first] + " " + initial + ". " + LAST_NAMES[last];
+    }
+    
+    private SplittableRandom random(long stream) {
+        // SplitMix64 finalizer, so neighbouring IDs get unrelated streams
+        long z = seed + stream * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+}
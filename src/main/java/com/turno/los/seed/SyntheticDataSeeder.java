@@ -0,0 +1,235 @@
+package com.turno.los.seed;
+
+import com.turno.los.entity.Agent;
+import com.turno.los.entity.Loan;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads a production-sized synthetic data set at startup under the
+ * {@code seed} profile, in place of {@code DataInitializer}'s six agents.
+ * Runs once all beans exist but before the web server and schedulers start,
+ * so no request or processing run sees a half-seeded database.
+ * <p>
+ * Rows go in through JDBC batch inserts with explicit IDs, bypassing
+ * Hibernate, one transaction per batch and several batches in parallel.
+ * The secondary indexes on {@code loans} are dropped for the load and
+ * rebuilt from the entity mapping afterwards, which is far cheaper than
+ * maintaining them row by row.
+ * Identity columns are then restarted past the seeded IDs so the application
+ * keeps inserting normally. Only empty tables are seeded.
+ * <p>
+ * Seeded loans are not replayed through status change events, so the
+ * journal, latency histograms and analytics rollups start empty; the status
+ * counts and customer leaderboard rebuild from the tables on startup.
+ */
+@Component
+@Profile("seed")
+public class SyntheticDataSeeder implements SmartInitializingSingleton {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataSeeder.class);
+    
+    private static final String INSERT_AGENT = "INSERT INTO agents (id, agent_id, name, email, phone, status, "
+            + "manager_id, max_loan_amount, specializations, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_LOAN = "INSERT INTO loans (id, loan_id, customer_name, customer_phone, "
+            + "loan_amount, loan_type, status, assigned_agent_id, processing_started_at, processing_completed_at, "
+            + "decision_reason, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long randomSeed;
+    private final int agentCount;
+    private final int spanOfControl;
+    private final long loanCount;
+    private final int days;
+    private final String anchor;
+    private final int batchSize;
+    private final int threads;
+    
+    @Autowired
+    public SyntheticDataSeeder(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${los.seed.random-seed:42}") long randomSeed,
+                               @Value("${los.seed.agents:2000}") int agentCount,
+                               @Value("${los.seed.span-of-control:10}") int spanOfControl,
+                               @Value("${los.seed.loans:1000000}") long loanCount,
+                               @Value("${los.seed.days:365}") int days,
+                               @Value("${los.seed.anchor:}") String anchor,
+                               @Value("${los.seed.batch-size:5000}") int batchSize,
+                               @Value("${los.seed.threads:4}") int threads) {
+        if (agentCount < 1 || spanOfControl < 1 || loanCount < 0 || days < 1 || batchSize < 1 || threads < 1) {
+            throw new IllegalArgumentException("los.seed.* sizes must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.randomSeed = randomSeed;
+        this.agentCount = agentCount;
+        this.spanOfControl = spanOfControl;
+        this.loanCount = loanCount;
+        this.days = days;
+        this.anchor = anchor;
+        this.batchSize = batchSize;
+        this.threads = threads;
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        Long existing = jdbcTemplate.queryForObject("SELECT (SELECT COUNT(*) FROM agents) + (SELECT COUNT(*) FROM loans)",
+                Long.class);
+        if (existing != null && existing > 0) {
+            logger.warn("Skipping synthetic data: agents or loans already present");
+            return;
+        }
+        
+        // Midnight UTC today unless pinned, so only the dates move between days
+        LocalDateTime anchorTime = anchor.isBlank()
+                ? LocalDate.now(ZoneOffset.UTC).atStartOfDay()
+                : LocalDateTime.parse(anchor);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(randomSeed, agentCount, spanOfControl,
+                loanCount, anchorTime, days);
+        logger.info("Seeding {} agents and {} loans over {} days to {} (seed {})",
+                agentCount, loanCount, days, anchorTime, randomSeed);
+        
+        long started = System.nanoTime();
+        List<Agent> agents = generator.agents();
+        for (int from = 0; from < agents.size(); from += batchSize) {
+            insertAgents(agents.subList(from, Math.min(agents.size(), from + batchSize)));
+        }
+        Index[] loanIndexes = Loan.class.getAnnotation(Table.class).indexes();
+        for (Index index : loanIndexes) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + index.name());
+        }
+        insertLoans(generator);
+        long indexingStarted = System.nanoTime();
+        for (Index index : loanIndexes) {
+            jdbcTemplate.execute("CREATE INDEX " + index.name() + " ON loans (" + index.columnList() + ")");
+        }
+        logger.info("Rebuilt {} loan indexes in {} ms", loanIndexes.length,
+                (System.nanoTime() - indexingStarted) / 1_000_000);
+        restartIdentity("agents", agentCount + 1L);
+        restartIdentity("loans", loanCount + 1);
+        
+        double seconds = (System.nanoTime() - started) / 1e9;
+        logger.info("Seeded {} agents and {} loans in {} s ({} rows/s)", agentCount, loanCount,
+                String.format("%.1f", seconds), String.format("%.0f", (agentCount + loanCount) / seconds));
+    }
+    
+    private void insertLoans(SyntheticDataGenerator generator) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        AtomicLong inserted = new AtomicLong();
+        long reportEvery = Math.max(batchSize, loanCount / 10);
+        try {
+            List<Future<?>> batches = new ArrayList<>();
+            for (long firstId = 1; firstId <= loanCount; firstId += batchSize) {
+                long batchStart = firstId;
+                int count = (int) Math.min(batchSize, loanCount - firstId + 1);
+                batches.add(pool.submit(() -> {
+                    insertLoanBatch(generator.loans(batchStart, count));
+                    long total = inserted.addAndGet(count);
+                    if (total / reportEvery != (total - count) / reportEvery) {
+                        logger.info("Seeded {} / {} loans", total, loanCount);
+                    }
+                }));
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding loans", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to seed loans", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    private void insertAgents(List<Agent> agents) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_AGENT, agents,
+                agents.size(), (statement, agent) -> {
+                    statement.setLong(1, agent.getId());
+                    statement.setString(2, agent.getAgentId());
+                    statement.setString(3, agent.getName());
+                    statement.setString(4, agent.getEmail());
+                    statement.setString(5, agent.getPhone());
+                    statement.setString(6, agent.getStatus().name());
+                    setLong(statement, 7, agent.getManager() != null ? agent.getManager().getId() : null);
+                    if (agent.getMaxLoanAmount() != null) {
+                        statement.setDouble(8, agent.getMaxLoanAmount());
+                    } else {
+                        statement.setNull(8, Types.DOUBLE);
+                    }
+                    statement.setString(9, agent.getSpecializations());
+                    setTimestamp(statement, 10, agent.getCreatedAt());
+                    setTimestamp(statement, 11, agent.getUpdatedAt());
+                }));
+    }
+    
+    private void insertLoanBatch(List<Loan> loans) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_LOAN, loans,
+                loans.size(), (statement, loan) -> {
+                    statement.setLong(1, loan.getId());
+                    statement.setString(2, loan.getLoanId());
+                    statement.setString(3, loan.getCustomerName());
+                    statement.setString(4, loan.getCustomerPhone());
+                    statement.setBigDecimal(5, loan.getLoanAmount());
+                    statement.setString(6, loan.getLoanType().name());
+                    statement.setString(7, loan.getStatus().name());
+                    setLong(statement, 8, loan.getAssignedAgentId());
+                    setTimestamp(statement, 9, loan.getProcessingStartedAt());
+                    setTimestamp(statement, 10, loan.getProcessingCompletedAt());
+                    statement.setString(11, loan.getDecisionReason());
+                    setTimestamp(statement, 12, loan.getCreatedAt());
+                    setTimestamp(statement, 13, loan.getUpdatedAt());
+                }));
+    }
+    
+    /**
+     * Move the identity past the seeded IDs. Same syntax on H2 and PostgreSQL identity columns.
+     */
+    private void restartIdentity(String table, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+    
+    private static void setLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+    
+    private static void setTimestamp(PreparedStatement statement, int index, LocalDateTime value) throws SQLException {
+        if (value != null) {
+            statement.setTimestamp(index, Timestamp.valueOf(value));
+        } else {
+            statement.setNull(index, Types.TIMESTAMP);
+        }
+    }
+}
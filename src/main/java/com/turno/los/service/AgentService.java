@@ -5,19 +5,22 @@ import com.turno.los.entity.Agent;
 import com.turno.los.entity.Loan;
 import com.turno.los.enums.AgentDecision;
 import com.turno.los.enums.LoanStatus;
+import com.turno.los.event.LoanStatusChangedEvent;
 import com.turno.los.notification.NotificationService;
 import com.turno.los.repository.AgentRepository;
 import com.turno.los.repository.LoanRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Service class for agent-related business operations.
@@ -34,14 +37,20 @@ public class AgentService {
     private final AgentRepository agentRepository;
     private final LoanRepository loanRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RandomGenerator random;
     
     @Autowired
     public AgentService(AgentRepository agentRepository, 
                        LoanRepository loanRepository, 
-                       NotificationService notificationService) {
+                       NotificationService notificationService,
+                       ApplicationEventPublisher eventPublisher,
+                       RandomGenerator random) {
         this.agentRepository = agentRepository;
         this.loanRepository = loanRepository;
         this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.random = random;
     }
     
     /**
@@ -51,7 +60,7 @@ public class AgentService {
      * @return The ID of the assigned agent, or null if no agent available
      */
     public Long assignLoanToAvailableAgent(Loan loan) {
-        logger.info("Attempting to assign loan {} to an available agent", loan.getLoanId());
+        logger.debug("Attempting to assign loan {} to an available agent", loan.getLoanId());
         
         // Find available agents who can handle this loan amount
         List<Agent> availableAgents = agentRepository.findAvailableAgentsForLoanAmount(
@@ -64,7 +73,7 @@ public class AgentService {
         }
         
         // Simple round-robin assignment (in a real system, you might use more sophisticated logic)
-        Agent selectedAgent = selectBestAgent(availableAgents, loan);
+        Agent selectedAgent = selectBestAgent(availableAgents, loan, random);
         
         if (selectedAgent != null) {
             logger.info("Assigned loan {} to agent {} ({})", 
@@ -80,9 +89,10 @@ public class AgentService {
      * 
      * @param availableAgents List of available agents
      * @param loan The loan to assign
+     * @param random Tie-breaker among equally suitable agents
      * @return The selected agent
      */
-    private Agent selectBestAgent(List<Agent> availableAgents, Loan loan) {
+    static Agent selectBestAgent(List<Agent> availableAgents, Loan loan, RandomGenerator random) {
         // Simple selection logic - in a real system, this would be more sophisticated
         // Consider factors like agent workload, specialization, performance, etc.
         
@@ -99,7 +109,7 @@ public class AgentService {
         }
         
         // Select randomly from candidates (simple load balancing)
-        return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+        return candidates.get(random.nextInt(candidates.size()));
     }
     
     /**
@@ -107,7 +117,7 @@ public class AgentService {
      * 
      * @param loan The loan that was assigned
      */
-    @Async("notificationExecutor")
+    @Async("${los.notification.executor:notificationExecutor}")
     public void sendAssignmentNotifications(Loan loan) {
         if (loan.getAssignedAgentId() == null) {
             return;
@@ -139,6 +149,17 @@ public class AgentService {
      * @return True if decision was processed successfully
      */
     public boolean processAgentDecision(Long agentId, String loanId, AgentDecisionRequest decisionRequest) {
+        MDC.put("loanId", loanId);
+        MDC.put("agentId", agentId.toString());
+        try {
+            return applyAgentDecision(agentId, loanId, decisionRequest);
+        } finally {
+            MDC.remove("loanId");
+            MDC.remove("agentId");
+        }
+    }
+    
+    private boolean applyAgentDecision(Long agentId, String loanId, AgentDecisionRequest decisionRequest) {
         logger.info("Processing agent decision for loan: {} by agent: {}", loanId, agentId);
         
         // Find the loan
@@ -174,8 +195,9 @@ public class AgentService {
             loan.setDecisionReason("Decision made by agent: " + decisionRequest.getDecision().getDisplayName());
         }
         
-        // Save the updated loan
-        loanRepository.save(loan);
+        // Flushed now so the event carries the updatedAt written by the update
+        Loan saved = loanRepository.saveAndFlush(loan);
+        eventPublisher.publishEvent(new LoanStatusChangedEvent(saved, LoanStatus.UNDER_REVIEW, agentId));
         
         // Send customer notification based on decision
         if (newStatus.isApproved()) {
@@ -0,0 +1,147 @@
+package com.turno.los.service;
+
+import com.turno.los.event.LoanStatusChangedEvent;
+import com.turno.los.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Approved-loan count per customer plus a bounded, always-sorted top-K set,
+ * updated whenever a loan is approved.
+ * <p>
+ * Approval counts only ever grow, so a customer outside the top set can only
+ * enter it on its own increment; comparing against the current minimum keeps
+ * the set exact without rescanning every customer.
+ * <p>
+ * Counts are held for at most {@code los.leaderboard.max-tracked-customers}
+ * customers, the highest as of the last {@link #rebuild()}. Once that many are
+ * tracked, approvals for anyone else are ignored until the next rebuild, as is
+ * any other drift from a transition committing while a rebuild runs. The
+ * scheduler rebuilds every {@code los.leaderboard.reconcile-interval-ms}.
+ */
+@Component
+public class CustomerLeaderboard {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CustomerLeaderboard.class);
+    
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingLong(Entry::getApprovedCount).reversed()
+            .thenComparing(Entry::getCustomerName);
+    
+    private final LoanRepository loanRepository;
+    
+    @Value("${los.leaderboard.max-k:100}")
+    private int maxK;
+    
+    @Value("${los.leaderboard.max-tracked-customers:100000}")
+    private int maxTrackedCustomers;
+    
+    // Guarded by this
+    private final Map<String, Long> approvedCounts = new HashMap<>();
+    private final TreeSet<Entry> top = new TreeSet<>(RANKING);
+    
+    @Autowired
+    public CustomerLeaderboard(LoanRepository loanRepository) {
+        this.loanRepository = loanRepository;
+    }
+    
+    public int getMaxK() {
+        return maxK;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(LoanStatusChangedEvent event) {
+        boolean wasApproved = event.getPreviousStatus() != null && event.getPreviousStatus().isApproved();
+        if (event.getNewStatus().isApproved() && !wasApproved) {
+            increment(event.getCustomerName(), 1);
+        }
+    }
+    
+    /**
+     * The top {@code k} customers by approved loans, highest first.
+     * 
+     * @param k Number of customers, at most {@link #getMaxK()}
+     */
+    public synchronized List<Entry> top(int k) {
+        List<Entry> result = new ArrayList<>(Math.min(k, top.size()));
+        Iterator<Entry> iterator = top.iterator();
+        while (iterator.hasNext() && result.size() < k) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+    
+    /**
+     * Rebuild from the {@code los.leaderboard.max-tracked-customers} customers
+     * with the most approved loans, live and archived. Runs at startup and on
+     * the scheduler's reconciliation interval.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        approvedCounts.clear();
+        top.clear();
+        
+        for (Object[] row : loanRepository.findTopApprovedCustomers(maxTrackedCustomers)) {
+            long count = ((Number) row[1]).longValue();
+            approvedCounts.put((String) row[0], count);
+            if (top.size() < maxK) {
+                top.add(new Entry((String) row[0], count));
+            }
+        }
+        
+        logger.debug("Customer leaderboard rebuilt with {} customers", approvedCounts.size());
+    }
+    
+    private synchronized void increment(String customerName, long delta) {
+        Long tracked = approvedCounts.get(customerName);
+        if (tracked == null && approvedCounts.size() >= maxTrackedCustomers) {
+            return;
+        }
+        long previous = tracked != null ? tracked : 0L;
+        long updated = previous + delta;
+        approvedCounts.put(customerName, updated);
+        
+        Entry entry = new Entry(customerName, updated);
+        if (top.remove(new Entry(customerName, previous)) || top.size() < maxK) {
+            top.add(entry);
+        } else if (RANKING.compare(entry, top.last()) < 0) {
+            top.pollLast();
+            top.add(entry);
+        }
+    }
+    
+    public static final class Entry {
+        
+        private final String customerName;
+        private final long approvedCount;
+        
+        public Entry(String customerName, long approvedCount) {
+            this.customerName = customerName;
+            this.approvedCount = approvedCount;
+        }
+        
+        public String getCustomerName() {
+            return customerName;
+        }
+        
+        public long getApprovedCount() {
+            return approvedCount;
+        }
+    }
+}
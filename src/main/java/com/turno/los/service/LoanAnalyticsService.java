@@ -0,0 +1,236 @@
+package com.turno.los.service;
+
+import com.turno.los.dto.LatencySnapshot;
+import com.turno.los.dto.LoanRollupResponse;
+import com.turno.los.entity.LoanRollup;
+import com.turno.los.enums.LatencyStage;
+import com.turno.los.enums.LoanType;
+import com.turno.los.enums.RollupGranularity;
+import com.turno.los.event.LoanStatusChangedEvent;
+import com.turno.los.repository.LoanRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Hourly and daily loan volume and decision rollups per {@link LoanType}.
+ * <p>
+ * Each committed status transition adds to in-memory deltas for its hour and
+ * day buckets; a scheduled flush adds the deltas to the {@code loan_rollups}
+ * rows in place. Reads only touch the requested buckets, so their cost depends
+ * on the range asked for, never on the number of loans. Figures lag by at most
+ * one flush interval.
+ */
+@Service
+public class LoanAnalyticsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoanAnalyticsService.class);
+    
+    private static final RollupGranularity[] GRANULARITIES = RollupGranularity.values();
+    
+    private final LoanRollupRepository loanRollupRepository;
+    private final LoanLatencyTracker loanLatencyTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxBuckets;
+    
+    private final Map<BucketKey, Delta> pending = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public LoanAnalyticsService(LoanRollupRepository loanRollupRepository,
+                                LoanLatencyTracker loanLatencyTracker,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${los.analytics.max-buckets:744}") long maxBuckets) {
+        this.loanRollupRepository = loanRollupRepository;
+        this.loanLatencyTracker = loanLatencyTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBuckets = maxBuckets;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(LoanStatusChangedEvent event) {
+        if (event.getPreviousStatus() == null) {
+            LocalDateTime appliedAt = event.getCreatedAt() != null ? event.getCreatedAt() : event.getOccurredAt();
+            record(event.getLoanType(), appliedAt, delta -> {
+                delta.appliedCount++;
+                delta.appliedAmount = delta.appliedAmount.add(event.getLoanAmount());
+            });
+        } else if (event.getNewStatus().isApproved()) {
+            record(event.getLoanType(), event.getOccurredAt(), delta -> delta.approvedCount++);
+        } else if (event.getNewStatus().isRejected()) {
+            record(event.getLoanType(), event.getOccurredAt(), delta -> delta.rejectedCount++);
+        }
+    }
+    
+    /**
+     * Rollups for the buckets starting in [from, to).
+     * 
+     * @param granularity Bucket size
+     * @param from Inclusive start
+     * @param to Exclusive end
+     * @param loanType Optional loan type filter
+     * @throws IllegalArgumentException if the range is empty or spans more than {@code los.analytics.max-buckets}
+     */
+    @Transactional(readOnly = true)
+    public List<LoanRollupResponse> getRollups(RollupGranularity granularity, LocalDateTime from,
+                                               LocalDateTime to, LoanType loanType) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (granularity.bucketsBetween(from, to) > maxBuckets) {
+            throw new IllegalArgumentException("Range spans more than " + maxBuckets + " buckets");
+        }
+        
+        List<LoanRollup> buckets = loanRollupRepository.findBuckets(
+                granularity, granularity.bucketStart(from), to, loanType);
+        
+        List<LoanRollupResponse> responses = new ArrayList<>(buckets.size());
+        for (LoanRollup bucket : buckets) {
+            responses.add(convertToResponse(bucket));
+        }
+        return responses;
+    }
+    
+    /**
+     * Stage latency distribution from the in-memory {@link LoanLatencyTracker}; no database access.
+     */
+    public LatencySnapshot getLatency(LatencyStage stage, LoanType loanType, Long agentId) {
+        return loanLatencyTracker.snapshot(stage, loanType, agentId);
+    }
+    
+    /**
+     * Add pending deltas to the persisted buckets. Deltas that fail to persist
+     * are merged back and retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${los.analytics.flush-interval-ms:10000}")
+    public void flushRollups() {
+        Map<BucketKey, Delta> drained = new HashMap<>();
+        for (BucketKey key : pending.keySet()) {
+            pending.computeIfPresent(key, (k, delta) -> {
+                drained.put(k, delta);
+                return null;
+            });
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> drained.forEach(this::persist));
+            logger.debug("Flushed {} rollup bucket delta(s)", drained.size());
+        } catch (Exception e) {
+            logger.warn("Failed to flush {} rollup bucket delta(s), will retry", drained.size(), e);
+            drained.forEach((key, delta) -> pending.merge(key, delta, Delta::plus));
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flushRollups();
+    }
+    
+    private void record(LoanType loanType, LocalDateTime time, Consumer<Delta> update) {
+        for (RollupGranularity granularity : GRANULARITIES) {
+            BucketKey key = new BucketKey(granularity, granularity.bucketStart(time), loanType);
+            // compute holds the bin lock, so updates never race with the flush removing the entry
+            pending.compute(key, (k, delta) -> {
+                Delta target = delta != null ? delta : new Delta();
+                update.accept(target);
+                return target;
+            });
+        }
+    }
+    
+    private void persist(BucketKey key, Delta delta) {
+        int updated = loanRollupRepository.addToBucket(key.granularity, key.bucketStart, key.loanType,
+                delta.appliedCount, delta.appliedAmount, delta.approvedCount, delta.rejectedCount);
+        if (updated == 0) {
+            loanRollupRepository.save(new LoanRollup(key.granularity, key.bucketStart, key.loanType,
+                    delta.appliedCount, delta.appliedAmount, delta.approvedCount, delta.rejectedCount));
+        }
+    }
+    
+    private LoanRollupResponse convertToResponse(LoanRollup bucket) {
+        BigDecimal averageAmount = bucket.getAppliedCount() > 0
+                ? bucket.getAppliedAmount().divide(BigDecimal.valueOf(bucket.getAppliedCount()), 2, RoundingMode.HALF_UP)
+                : null;
+        long decisions = bucket.getApprovedCount() + bucket.getRejectedCount();
+        Double approvalRate = decisions > 0 ? (double) bucket.getApprovedCount() / decisions : null;
+        
+        return new LoanRollupResponse(
+            bucket.getBucketStart(),
+            bucket.getLoanType(),
+            bucket.getAppliedCount(),
+            bucket.getAppliedAmount(),
+            averageAmount,
+            bucket.getApprovedCount(),
+            bucket.getRejectedCount(),
+            approvalRate
+        );
+    }
+    
+    private static final class BucketKey {
+        
+        private final RollupGranularity granularity;
+        private final LocalDateTime bucketStart;
+        private final LoanType loanType;
+        
+        private BucketKey(RollupGranularity granularity, LocalDateTime bucketStart, LoanType loanType) {
+            this.granularity = granularity;
+            this.bucketStart = bucketStart;
+            this.loanType = loanType;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BucketKey)) return false;
+            BucketKey other = (BucketKey) o;
+            return granularity == other.granularity
+                    && bucketStart.equals(other.bucketStart)
+                    && loanType == other.loanType;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(granularity, bucketStart, loanType);
+        }
+    }
+    
+    /**
+     * Unflushed increments for one bucket; only mutated inside {@code ConcurrentHashMap.compute}.
+     */
+    private static final class Delta {
+        
+        private long appliedCount;
+        private BigDecimal appliedAmount = BigDecimal.ZERO;
+        private long approvedCount;
+        private long rejectedCount;
+        
+        private Delta plus(Delta other) {
+            appliedCount += other.appliedCount;
+            appliedAmount = appliedAmount.add(other.appliedAmount);
+            approvedCount += other.approvedCount;
+            rejectedCount += other.rejectedCount;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.turno.los.service;
+
+import com.turno.los.enums.LoanStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Moves decided loans whose last update is older than
+ * {@code los.archive.retention-days} from {@code loans} to {@code loans_archive},
+ * keeping the live table and its indexes down to the loans still in flight.
+ * <p>
+ * Each tick moves at most one chunk, copied and deleted in one transaction,
+ * so the rate is bounded by {@code chunk-size} per {@code chunk-interval-ms}
+ * and the shared scheduler thread is never held for long. Candidates are read
+ * in {@code (updated_at, id)} order from where the previous chunk stopped, so
+ * old loans that are still undecided are passed over once per pass rather
+ * than on every chunk. A chunk smaller than {@code chunk-size} ends the pass;
+ * the next one starts {@code idle-interval-ms} later. Nothing runs before the
+ * application is ready, so startup seeding and index builds are left alone.
+ */
+@Component
+public class LoanArchiver {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoanArchiver.class);
+    
+    private static final String COLUMNS =
+        "id, loan_id, customer_name, customer_phone, loan_amount, loan_type, status, " +
+        "assigned_agent_id, processing_started_at, processing_completed_at, decision_reason, " +
+        "created_at, updated_at";
+    
+    // Served by idx_loan_updated_at_id
+    private static final String SELECT_CANDIDATES =
+        "SELECT id, updated_at FROM loans WHERE updated_at < :cutoff AND status IN (:statuses) " +
+        "AND (updated_at > :afterUpdatedAt OR (updated_at = :afterUpdatedAt AND id > :afterId)) " +
+        "ORDER BY updated_at, id LIMIT :limit";
+    
+    private static final String COPY_TO_ARCHIVE =
+        "INSERT INTO loans_archive (" + COLUMNS + ", archived_at) " +
+        "SELECT " + COLUMNS + ", :archivedAt FROM loans WHERE id IN (:ids)";
+    
+    private static final String DELETE_FROM_LIVE = "DELETE FROM loans WHERE id IN (:ids)";
+    
+    private static final List<String> FINAL_STATUSES = Arrays.stream(LoanStatus.values())
+            .filter(LoanStatus::isFinal)
+            .map(Enum::name)
+            .collect(Collectors.toList());
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Counter archived;
+    
+    @Value("${los.archive.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${los.archive.retention-days:90}")
+    private long retentionDays;
+    
+    @Value("${los.archive.chunk-size:1000}")
+    private int chunkSize;
+    
+    @Value("${los.archive.idle-interval-ms:600000}")
+    private long idleIntervalMs;
+    
+    private volatile boolean ready;
+    
+    // Only touched from the scheduler thread
+    private Timestamp afterUpdatedAt;
+    private long afterId;
+    private long passArchived;
+    private long idleUntil;
+    
+    @Autowired
+    public LoanArchiver(DataSource dataSource,
+                        PlatformTransactionManager transactionManager,
+                        Clock clock,
+                        MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.archived = Counter.builder("los.archive.loans")
+                .description("Decided loans moved to the archive table")
+                .register(meterRegistry);
+        resetPass();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ready = true;
+    }
+    
+    @Scheduled(fixedDelayString = "${los.archive.chunk-interval-ms:500}")
+    public void archiveNextChunk() {
+        if (!enabled || !ready || clock.millis() < idleUntil) {
+            return;
+        }
+        
+        try {
+            int moved = archiveChunk(LocalDateTime.now(clock).minusDays(retentionDays));
+            passArchived += moved;
+            if (moved < chunkSize) {
+                if (passArchived > 0) {
+                    logger.info("Archived {} loans last updated more than {} days ago", passArchived, retentionDays);
+                }
+                resetPass();
+                idleUntil = clock.millis() + idleIntervalMs;
+            }
+        } catch (Exception e) {
+            logger.error("Error archiving loans", e);
+        }
+    }
+    
+    /**
+     * @return Number of loans moved; fewer than {@code chunk-size} once the pass has caught up
+     */
+    private int archiveChunk(LocalDateTime cutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("statuses", FINAL_STATUSES)
+                .addValue("afterUpdatedAt", afterUpdatedAt)
+                .addValue("afterId", afterId)
+                .addValue("limit", chunkSize);
+        
+        List<Long> ids = new ArrayList<>(chunkSize);
+        Timestamp[] lastUpdatedAt = new Timestamp[1];
+        jdbcTemplate.query(SELECT_CANDIDATES, params, rs -> {
+            ids.add(rs.getLong("id"));
+            lastUpdatedAt[0] = rs.getTimestamp("updated_at");
+        });
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        MapSqlParameterSource chunk = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now(clock)));
+        transactionTemplate.executeWithoutResult(status -> {
+            int copied = jdbcTemplate.update(COPY_TO_ARCHIVE, chunk);
+            int deleted = jdbcTemplate.update(DELETE_FROM_LIVE, chunk);
+            if (copied != deleted) {
+                // Rolls the chunk back; decided loans never change, so another instance moved some of it first
+                throw new IllegalStateException("Copied " + copied + " loans to the archive but deleted " + deleted);
+            }
+        });
+        // Only past the chunk once it is committed; a failed chunk is retried on the next tick
+        afterUpdatedAt = lastUpdatedAt[0];
+        afterId = ids.get(ids.size() - 1);
+        archived.increment(ids.size());
+        return ids.size();
+    }
+    
+    private void resetPass() {
+        afterUpdatedAt = Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0));
+        afterId = 0;
+        passArchived = 0;
+    }
+}
@@ -0,0 +1,269 @@
+package com.turno.los.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turno.los.event.LoanStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events fan-out of committed loan status transitions, scoped
+ * either to a single loan or to the loans assigned to an agent.
+ * <p>
+ * Idle subscribers cost an open socket and a small buffer, never a thread:
+ * each event is serialized once, offered to every matching subscriber's
+ * bounded buffer, and written out by a small shared dispatch pool. A
+ * subscriber whose buffer overflows is evicted so one slow client cannot
+ * hold back the rest; browsers' {@code EventSource} reconnects on its own.
+ * <p>
+ * Subscribing performs no database access, so under open-in-view the
+ * long-lived request never holds a JDBC connection.
+ */
+@Service
+public class LoanEventStreamService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoanEventStreamService.class);
+    
+    private static final String EVENT_NAME = "status-changed";
+    
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("keepalive").build();
+    
+    private final ObjectMapper objectMapper;
+    private final Executor dispatchExecutor;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMs;
+    
+    private final ConcurrentMap<String, Set<Subscriber>> byLoanId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<Subscriber>> byAgentId = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventSequence = new AtomicLong();
+    private final Counter evictions;
+    
+    @Autowired
+    public LoanEventStreamService(ObjectMapper objectMapper,
+                                  @Qualifier("sseDispatchExecutor") Executor dispatchExecutor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${los.events.max-subscribers:25000}") int maxSubscribers,
+                                  @Value("${los.events.buffer-size:32}") int bufferSize,
+                                  @Value("${los.events.timeout-ms:1800000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.dispatchExecutor = dispatchExecutor;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        
+        Gauge.builder("los.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open loan event stream subscriptions")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("los.events.evicted")
+                .description("Subscribers dropped because their buffer overflowed")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Open a stream of status transitions for one loan.
+     *
+     * @param loanId The loan ID
+     * @return The emitter, or empty if the node is at its subscriber limit
+     */
+    public Optional<SseEmitter> subscribeToLoan(String loanId) {
+        return subscribe(byLoanId, loanId);
+    }
+    
+    /**
+     * Open a stream of status transitions for every loan assigned to an agent.
+     *
+     * @param agentId The agent's database ID
+     * @return The emitter, or empty if the node is at its subscriber limit
+     */
+    public Optional<SseEmitter> subscribeToAgent(Long agentId) {
+        return subscribe(byAgentId, agentId);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(LoanStatusChangedEvent event) {
+        Set<Subscriber> loanSubscribers = byLoanId.get(event.getLoanId());
+        Set<Subscriber> agentSubscribers = event.getAssignedAgentId() != null
+                ? byAgentId.get(event.getAssignedAgentId()) : null;
+        if (loanSubscribers == null && agentSubscribers == null) {
+            return;
+        }
+        
+        Set<DataWithMediaType> frame;
+        try {
+            frame = SseEmitter.event()
+                    .id(String.valueOf(eventSequence.incrementAndGet()))
+                    .name(EVENT_NAME)
+                    .data(objectMapper.writeValueAsString(event))
+                    .build();
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize status change for loan {}", event.getLoanId(), e);
+            return;
+        }
+        
+        if (loanSubscribers != null) {
+            loanSubscribers.forEach(subscriber -> subscriber.offer(frame));
+        }
+        if (agentSubscribers != null) {
+            agentSubscribers.forEach(subscriber -> subscriber.offer(frame));
+        }
+    }
+    
+    /**
+     * Keeps idle connections alive through proxies and surfaces dead clients,
+     * which are only detected when a write fails.
+     */
+    @Scheduled(fixedDelayString = "${los.events.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        List<Subscriber> open = new ArrayList<>(subscribers);
+        open.forEach(Subscriber::close);
+        logger.info("Closed {} loan event stream(s) on shutdown", open.size());
+    }
+    
+    private <K> Optional<SseEmitter> subscribe(ConcurrentMap<K, Set<Subscriber>> registry, K key) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            logger.warn("Rejecting event stream subscription for {}: limit of {} reached", key, maxSubscribers);
+            return Optional.empty();
+        }
+        
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, registry, key);
+        registry.compute(key, (k, topic) -> {
+            Set<Subscriber> subscribed = topic != null ? topic : ConcurrentHashMap.<Subscriber>newKeySet();
+            subscribed.add(subscriber);
+            return subscribed;
+        });
+        subscribers.add(subscriber);
+        
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::remove);
+        emitter.onError(error -> subscriber.remove());
+        return Optional.of(emitter);
+    }
+    
+    /**
+     * One open stream: a bounded buffer of pre-rendered frames drained by the
+     * shared dispatch pool, at most one drain in flight at a time.
+     */
+    private final class Subscriber {
+        
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private final Runnable unregister;
+        private volatile boolean closed;
+        
+        private <K> Subscriber(SseEmitter emitter, ConcurrentMap<K, Set<Subscriber>> registry, K key) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+            this.unregister = () -> registry.computeIfPresent(key, (k, topic) -> {
+                topic.remove(this);
+                return topic.isEmpty() ? null : topic;
+            });
+        }
+        
+        void offer(Set<DataWithMediaType> frame) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(frame)) {
+                evictions.increment();
+                logger.debug("Evicting slow event stream subscriber");
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+        
+        /**
+         * Detach and ask the dispatch pool to complete the response, so the
+         * caller never blocks on a write in progress.
+         */
+        void close() {
+            closed = true;
+            remove();
+            buffer.clear();
+            scheduleDrain();
+        }
+        
+        void remove() {
+            if (removed.compareAndSet(false, true)) {
+                unregister.run();
+                subscribers.remove(this);
+                subscriberCount.decrementAndGet();
+            }
+        }
+        
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                dispatchExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Frames stay buffered; the next offer or heartbeat retries
+                draining.set(false);
+            }
+        }
+        
+        private void drain() {
+            try {
+                if (closed) {
+                    emitter.complete();
+                    return;
+                }
+                Set<DataWithMediaType> frame;
+                while (!closed && (frame = buffer.poll()) != null) {
+                    emitter.send(frame);
+                }
+                if (closed) {
+                    emitter.complete();
+                }
+            } catch (Exception e) {
+                closed = true;
+                remove();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
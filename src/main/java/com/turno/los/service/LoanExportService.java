@@ -0,0 +1,253 @@
+package com.turno.los.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.turno.los.dto.LoanResponse;
+import com.turno.los.enums.ExportFormat;
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams loans to an output stream for reconciliation jobs.
+ * <p>
+ * Rows are read through a forward-only, read-only JDBC cursor with a bounded
+ * fetch size inside a read-only transaction (PostgreSQL only honours the fetch
+ * size with auto-commit off) and written out one at a time, so the result set
+ * is never materialised. Ordered by {@code (updated_at, id)} so {@code updatedAfter}
+ * can be used as a watermark for incremental pulls.
+ * <p>
+ * Archived loans are included through a {@code UNION ALL} over
+ * {@code loans_archive} in the same statement, so a chunk the archiver moves
+ * mid-export is seen exactly once. It is left out when the watermark is
+ * within {@code los.archive.retention-days}, since no archived loan can have
+ * been updated after it, and when the status filter is not a final status,
+ * since only decided loans are archived.
+ */
+@Service
+public class LoanExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoanExportService.class);
+    
+    private static final String COLUMNS =
+        "id, loan_id, customer_name, customer_phone, loan_amount, loan_type, status, " +
+        "assigned_agent_id, processing_started_at, processing_completed_at, decision_reason, " +
+        "created_at, updated_at";
+    
+    private static final String CSV_HEADER =
+        "id,loanId,customerName,customerPhone,loanAmount,loanType,status,assignedAgentId," +
+        "processingStartedAt,processingCompletedAt,decisionReason,createdAt,updatedAt";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final long archiveRetentionDays;
+    
+    @Autowired
+    public LoanExportService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             Clock clock,
+                             @Value("${los.export.fetch-size:1000}") int fetchSize,
+                             @Value("${los.archive.retention-days:90}") long archiveRetentionDays) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.archiveRetentionDays = archiveRetentionDays;
+    }
+    
+    /**
+     * Write all matching loans, live and archived, to {@code out}.
+     * 
+     * @param format Output format
+     * @param status Optional status filter
+     * @param loanType Optional loan type filter
+     * @param updatedAfter Optional watermark; only loans updated strictly after it are exported
+     * @param out Destination stream, not closed by this method
+     * @return Number of loans written
+     */
+    public long export(ExportFormat format, LoanStatus status, LoanType loanType,
+                       LocalDateTime updatedAfter, OutputStream out) throws IOException {
+        List<Object> args = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        
+        if (status != null) {
+            conditions.add("status = ?");
+            args.add(status.name());
+        }
+        if (loanType != null) {
+            conditions.add("loan_type = ?");
+            args.add(loanType.name());
+        }
+        if (updatedAfter != null) {
+            conditions.add("updated_at > ?");
+            args.add(Timestamp.valueOf(updatedAfter));
+        }
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM loans").append(where);
+        boolean includeArchive = (status == null || status.isFinal())
+                && (updatedAfter == null
+                        || updatedAfter.isBefore(LocalDateTime.now(clock).minusDays(archiveRetentionDays)));
+        if (includeArchive) {
+            sql.append(" UNION ALL SELECT ").append(COLUMNS).append(" FROM loans_archive").append(where);
+            args.addAll(new ArrayList<>(args));
+        }
+        sql.append(" ORDER BY updated_at, id");
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        
+        long[] count = {0};
+        try {
+            transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+                try {
+                    rowWriter.write(rs);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, args.toArray()));
+        } catch (UncheckedIOException e) {
+            logger.warn("Loan export aborted after {} rows: {}", count[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        
+        rowWriter.finish();
+        writer.flush();
+        logger.info("Exported {} loans as {}", count[0], format);
+        return count[0];
+    }
+    
+    private interface RowWriter {
+        
+        void write(ResultSet rs) throws SQLException, IOException;
+        
+        default void finish() throws IOException {
+        }
+    }
+    
+    private final class NdjsonRowWriter implements RowWriter {
+        
+        private final Writer writer;
+        private final SequenceWriter sequenceWriter;
+        private boolean empty = true;
+        
+        private NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.sequenceWriter = objectMapper.writerFor(LoanResponse.class)
+                    .withRootValueSeparator("\n")
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                    .writeValues(writer);
+        }
+        
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            sequenceWriter.write(toResponse(rs));
+            empty = false;
+        }
+        
+        @Override
+        public void finish() throws IOException {
+            sequenceWriter.close();
+            if (!empty) {
+                writer.write('\n');
+            }
+        }
+    }
+    
+    private static final class CsvRowWriter implements RowWriter {
+        
+        private final Writer writer;
+        
+        private CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int column = 1; column <= 13; column++) {
+                if (column > 1) {
+                    writer.write(',');
+                }
+                Object value = rs.getObject(column);
+                if (value instanceof Timestamp timestamp) {
+                    value = timestamp.toLocalDateTime();
+                } else if (value instanceof BigDecimal decimal) {
+                    value = decimal.toPlainString();
+                }
+                if (value != null) {
+                    writeCsvField(value.toString());
+                }
+            }
+            writer.write('\n');
+        }
+        
+        private void writeCsvField(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+    
+    private static LoanResponse toResponse(ResultSet rs) throws SQLException {
+        return new LoanResponse(
+            rs.getLong("id"),
+            rs.getString("loan_id"),
+            rs.getString("customer_name"),
+            rs.getString("customer_phone"),
+            rs.getBigDecimal("loan_amount"),
+            LoanType.valueOf(rs.getString("loan_type")),
+            LoanStatus.valueOf(rs.getString("status")),
+            rs.getObject("assigned_agent_id", Long.class),
+            toLocalDateTime(rs.getTimestamp("processing_started_at")),
+            toLocalDateTime(rs.getTimestamp("processing_completed_at")),
+            rs.getString("decision_reason"),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("updated_at"))
+        );
+    }
+    
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,113 @@
+package com.turno.los.service;
+
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Micrometer timers for each step of {@code LoanService.processLoan}, tagged by
+ * {@link LoanType} and outcome:
+ * <ul>
+ *   <li>{@code los.pipeline.queue.wait} - application to processing start</li>
+ *   <li>{@code los.pipeline.rules} - business rule evaluation, by resulting status</li>
+ *   <li>{@code los.pipeline.assignment} - agent assignment</li>
+ *   <li>{@code los.pipeline.persistence} - each repository write, by operation</li>
+ *   <li>{@code los.pipeline.notification} - each notification call, by notification</li>
+ *   <li>{@code los.pipeline.loans} - loans processed, by final status or {@code error}</li>
+ * </ul>
+ * Registering an existing meter ID returns the cached meter, so per-call
+ * lookups cost a map hit rather than a new registration.
+ */
+@Component
+public class LoanPipelineMetrics {
+    
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Autowired
+    public LoanPipelineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+    
+    public void recordQueueWait(LoanType loanType, LocalDateTime appliedAt, LocalDateTime startedAt) {
+        if (appliedAt == null || startedAt == null) {
+            return;
+        }
+        Timer.builder("los.pipeline.queue.wait")
+                .description("Time from application to the start of processing")
+                .tag("loanType", loanType.name())
+                .register(meterRegistry)
+                .record(Duration.between(appliedAt, startedAt));
+    }
+    
+    public void recordRules(Timer.Sample sample, LoanType loanType, LoanStatus outcome) {
+        sample.stop(Timer.builder("los.pipeline.rules")
+                .description("Business rule evaluation")
+                .tag("loanType", loanType.name())
+                .tag("outcome", outcome.name())
+                .register(meterRegistry));
+    }
+    
+    public void recordAssignment(Timer.Sample sample, LoanType loanType, String outcome) {
+        sample.stop(Timer.builder("los.pipeline.assignment")
+                .description("Agent assignment")
+                .tag("loanType", loanType.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+    
+    public void recordLoanProcessed(LoanType loanType, String outcome) {
+        Counter.builder("los.pipeline.loans")
+                .description("Loans through system processing")
+                .tag("loanType", loanType.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    /**
+     * Time a repository write. Exceptions are recorded with outcome {@code error} and rethrown.
+     */
+    public void timePersistence(LoanType loanType, String operation, Runnable write) {
+        time("los.pipeline.persistence", "Repository writes during processing",
+                loanType, "operation", operation, write);
+    }
+    
+    /**
+     * Time a notification call. Exceptions are recorded with outcome {@code error} and rethrown.
+     */
+    public void timeNotification(LoanType loanType, String notification, Runnable call) {
+        time("los.pipeline.notification", "Notification calls during processing",
+                loanType, "notification", notification, call);
+    }
+    
+    private void time(String name, String description, LoanType loanType,
+                      String stepTag, String step, Runnable action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = ERROR;
+        try {
+            action.run();
+            outcome = SUCCESS;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .description(description)
+                    .tag("loanType", loanType.name())
+                    .tag(stepTag, step)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
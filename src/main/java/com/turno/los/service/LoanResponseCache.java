@@ -0,0 +1,97 @@
+package com.turno.los.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.turno.los.dto.LoanResponse;
+import com.turno.los.event.LoanStatusChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of {@link LoanResponse} for the polling endpoints,
+ * keyed by both the database ID and the loan ID.
+ * <p>
+ * Caffeine's W-TinyLFU eviction keeps hot loans resident, and concurrent misses
+ * for the same key wait on a single load. Entries are invalidated after every
+ * committed status transition, and by {@code LoanService} once the bulk update
+ * recording the processing start commits. The write TTL bounds staleness if a
+ * load that started before a commit finishes after its invalidation.
+ * Hit/miss/eviction metrics are published as {@code cache.*} meters.
+ */
+@Component
+public class LoanResponseCache {
+    
+    private final Cache<Long, LoanResponse> byId;
+    private final Cache<String, LoanResponse> byLoanId;
+    
+    @Autowired
+    public LoanResponseCache(MeterRegistry meterRegistry,
+                             @Value("${los.cache.loans.maximum-size:10000}") long maximumSize,
+                             @Value("${los.cache.loans.expire-after-write-seconds:30}") long expireAfterWriteSeconds) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        this.byLoanId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "loansById");
+        CaffeineCacheMetrics.monitor(meterRegistry, byLoanId, "loansByLoanId");
+    }
+    
+    public Optional<LoanResponse> getById(Long id, Function<Long, LoanResponse> loader) {
+        LoanResponse response = byId.get(id, loader);
+        if (response != null) {
+            byLoanId.put(response.getLoanId(), response);
+        }
+        return Optional.ofNullable(response);
+    }
+    
+    public Optional<LoanResponse> getByLoanId(String loanId, Function<String, LoanResponse> loader) {
+        LoanResponse response = byLoanId.get(loanId, loader);
+        if (response != null) {
+            byId.put(response.getId(), response);
+        }
+        return Optional.ofNullable(response);
+    }
+    
+    /**
+     * Cached response by database ID, without loading it on a miss.
+     */
+    public Optional<LoanResponse> peekById(Long id) {
+        return Optional.ofNullable(byId.getIfPresent(id));
+    }
+    
+    /**
+     * Cached response by loan ID, without loading it on a miss.
+     */
+    public Optional<LoanResponse> peekByLoanId(String loanId) {
+        return Optional.ofNullable(byLoanId.getIfPresent(loanId));
+    }
+    
+    public void invalidate(Long id, String loanId) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        if (loanId != null) {
+            byLoanId.invalidate(loanId);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(LoanStatusChangedEvent event) {
+        invalidate(event.getId(), event.getLoanId());
+    }
+}
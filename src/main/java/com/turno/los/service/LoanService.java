@@ -1,28 +1,45 @@
 package com.turno.los.service;
 
+import com.turno.los.clock.Sleeper;
+import com.turno.los.dto.CursorPage;
 import com.turno.los.dto.LoanApplicationRequest;
+import com.turno.los.dto.LoanCursor;
 import com.turno.los.dto.LoanResponse;
+import com.turno.los.dto.LoanSearchCriteria;
+import com.turno.los.dto.LoanTransitionResponse;
 import com.turno.los.entity.Loan;
 import com.turno.los.enums.LoanStatus;
 import com.turno.los.enums.LoanType;
+import com.turno.los.event.LoanStatusChangedEvent;
+import com.turno.los.journal.LoanJournal;
 import com.turno.los.notification.NotificationService;
+import com.turno.los.repository.ArchivedLoanRepository;
 import com.turno.los.repository.LoanRepository;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 
@@ -33,21 +50,69 @@ public class LoanService {
     private static final Logger logger = LoggerFactory.getLogger(LoanService.class);
     
     private final LoanRepository loanRepository;
+    private final ArchivedLoanRepository archivedLoanRepository;
     private final AgentService agentService;
     private final NotificationService notificationService;
+    private final LoanStatusCounter loanStatusCounter;
+    private final CustomerLeaderboard customerLeaderboard;
+    private final LoanResponseCache loanResponseCache;
+    private final LoanPipelineMetrics pipelineMetrics;
+    private final LoanJournal loanJournal;
+    private final LoanWorkQueue loanWorkQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final RandomGenerator random;
     
-    // Thread-safe map to track loans being processed
-    private final Map<String, Boolean> processingLoans = new ConcurrentHashMap<>();
+    @Value("${los.search.max-created-range-days:31}")
+    private long maxCreatedRangeDays;
+    
+    @Value("${los.processing.delay-min-seconds:20}")
+    private double processingDelayMinSeconds;
+    
+    @Value("${los.processing.delay-max-seconds:30}")
+    private double processingDelayMaxSeconds;
+    
+    @Value("${los.processing.queue.batch-size:10}")
+    private int processingBatchSize;
     
     @Autowired
     public LoanService(LoanRepository loanRepository, 
+                      ArchivedLoanRepository archivedLoanRepository,
                       AgentService agentService, 
-                      NotificationService notificationService) {
+                      NotificationService notificationService,
+                      LoanStatusCounter loanStatusCounter,
+                      CustomerLeaderboard customerLeaderboard,
+                      LoanResponseCache loanResponseCache,
+                      LoanPipelineMetrics pipelineMetrics,
+                      LoanJournal loanJournal,
+                      LoanWorkQueue loanWorkQueue,
+                      PlatformTransactionManager transactionManager,
+                      ApplicationEventPublisher eventPublisher,
+                      Clock clock,
+                      Sleeper sleeper,
+                      RandomGenerator random) {
         this.loanRepository = loanRepository;
+        this.archivedLoanRepository = archivedLoanRepository;
         this.agentService = agentService;
         this.notificationService = notificationService;
+        this.loanStatusCounter = loanStatusCounter;
+        this.customerLeaderboard = customerLeaderboard;
+        this.loanResponseCache = loanResponseCache;
+        this.pipelineMetrics = pipelineMetrics;
+        this.loanJournal = loanJournal;
+        this.loanWorkQueue = loanWorkQueue;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.random = random;
     }
     
+    /**
+     * Save the loan and queue it for processing in one transaction.
+     */
     public LoanResponse submitLoanApplication(LoanApplicationRequest request) {
         logger.info("Submitting loan application for customer: {}", request.getCustomerName());
         
@@ -65,125 +130,301 @@ public class LoanService {
         
         // Save loan
         Loan savedLoan = loanRepository.save(loan);
+        loanWorkQueue.enqueue(savedLoan.getId());
+        eventPublisher.publishEvent(new LoanStatusChangedEvent(savedLoan, null));
         
         logger.info("Loan application submitted successfully. Loan ID: {}", loanId);
         
         return convertToResponse(savedLoan);
     }
     
-    @Transactional(readOnly = true)
+    /**
+     * Read-through {@link LoanResponseCache}; only a miss touches the database,
+     * and only a loan missing from {@code loans} is looked up in the archive.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<LoanResponse> getLoanById(Long id) {
-        return loanRepository.findById(id)
-                .map(this::convertToResponse);
+        return loanResponseCache.getById(id, key -> loanRepository.findResponseById(key)
+                .or(() -> archivedLoanRepository.findResponseById(key))
+                .orElse(null));
     }
     
-    @Transactional(readOnly = true)
+    /**
+     * Read-through {@link LoanResponseCache}; only a miss touches the database,
+     * and only a loan missing from {@code loans} is looked up in the archive.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<LoanResponse> getLoanByLoanId(String loanId) {
-        return loanRepository.findByLoanId(loanId)
-                .map(this::convertToResponse);
+        return loanResponseCache.getByLoanId(loanId, key -> loanRepository.findResponseByLoanId(key)
+                .or(() -> archivedLoanRepository.findResponseByLoanId(key))
+                .orElse(null));
     }
     
-    @Transactional(readOnly = true)
-    public Page<LoanResponse> getLoansByStatus(LoanStatus status, Pageable pageable) {
-        return loanRepository.findByStatus(status, pageable)
-                .map(this::convertToResponse);
+    /**
+     * Last modification time of a loan, used as its version for conditional GETs.
+     * Answered from the cache when possible, otherwise by a single-column query.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<LocalDateTime> getLoanVersionById(Long id) {
+        Optional<LoanResponse> cached = loanResponseCache.peekById(id);
+        if (cached.isPresent()) {
+            return Optional.ofNullable(cached.get().getUpdatedAt());
+        }
+        return loanRepository.findUpdatedAtById(id).or(() -> archivedLoanRepository.findUpdatedAtById(id));
+    }
+    
+    /**
+     * Last modification time of a loan, used as its version for conditional GETs.
+     * Answered from the cache when possible, otherwise by a single-column query.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<LocalDateTime> getLoanVersionByLoanId(String loanId) {
+        Optional<LoanResponse> cached = loanResponseCache.peekByLoanId(loanId);
+        if (cached.isPresent()) {
+            return Optional.ofNullable(cached.get().getUpdatedAt());
+        }
+        return loanRepository.findUpdatedAtByLoanId(loanId).or(() -> archivedLoanRepository.findUpdatedAtByLoanId(loanId));
     }
     
+    /**
+     * Keyset-paginated listing by status, newest first. Cost does not depend
+     * on how deep the cursor is.
+     * 
+     * @param status The loan status
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Page size
+     */
     @Transactional(readOnly = true)
-    public Map<LoanStatus, Long> getStatusCount() {
-        Map<LoanStatus, Long> statusCount = new ConcurrentHashMap<>();
+    public CursorPage<LoanResponse> getLoansByStatus(LoanStatus status, String cursor, int size) {
+        LoanCursor after = (cursor == null || cursor.isBlank()) ? null : LoanCursor.decode(cursor);
+        List<LoanResponse> rows = loanRepository.findPageByStatus(status, after, size + 1);
+        
+        boolean hasNext = rows.size() > size;
+        List<LoanResponse> content = hasNext ? rows.subList(0, size) : rows;
         
-        for (LoanStatus status : LoanStatus.values()) {
-            long count = loanRepository.countByStatus(status);
-            statusCount.put(status, count);
+        String nextCursor = null;
+        if (hasNext) {
+            LoanResponse last = content.get(content.size() - 1);
+            nextCursor = new LoanCursor(last.getCreatedAt(), last.getId()).encode();
         }
         
-        return statusCount;
+        return new CursorPage<>(content, size, hasNext, nextCursor);
     }
     
+    /**
+     * Multi-criteria search, newest first, keyset-paginated.
+     * Only filter shapes backed by an index are accepted; see {@link #requireIndexedAccessPath}.
+     * 
+     * @param criteria The search filters
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Page size
+     * @throws IllegalArgumentException if the filters would need an unbounded scan
+     */
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getTopCustomers() {
-        Pageable pageable = org.springframework.data.domain.PageRequest.of(0, 3);
-        List<Object[]> results = loanRepository.findTopCustomersByApprovedLoans(pageable);
+    public CursorPage<LoanResponse> searchLoans(LoanSearchCriteria criteria, String cursor, int size) {
+        requireIndexedAccessPath(criteria);
+        
+        LoanCursor after = (cursor == null || cursor.isBlank()) ? null : LoanCursor.decode(cursor);
+        List<LoanResponse> rows = loanRepository.search(criteria, after, size + 1);
         
-        return results.stream()
-                .map(result -> {
-                    Map<String, Object> customer = new ConcurrentHashMap<>();
-                    customer.put("customerName", result[0]);
-                    customer.put("approvedCount", result[1]);
+        boolean hasNext = rows.size() > size;
+        List<LoanResponse> content = hasNext ? rows.subList(0, size) : rows;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            LoanResponse last = content.get(content.size() - 1);
+            nextCursor = new LoanCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        
+        return new CursorPage<>(content, size, hasNext, nextCursor);
+    }
+    
+    /**
+     * Served from the {@link LoanJournal}; no database access.
+     * 
+     * @param loanId The loan ID
+     * @return The loan's status transitions, oldest first, or an empty list if none were journaled
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<LoanTransitionResponse> getLoanHistory(String loanId) {
+        ZoneId zone = ZoneId.systemDefault();
+        return loanJournal.history(loanId).stream()
+                .map(record -> new LoanTransitionResponse(
+                    record.getSequence(),
+                    LocalDateTime.ofInstant(record.getOccurredAt(), zone),
+                    record.getPreviousStatus(),
+                    record.getNewStatus(),
+                    record.getActor(),
+                    record.getActorId(),
+                    record.getAssignedAgentId(),
+                    record.getReason()
+                ))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Served from the in-memory {@link LoanStatusCounter}; no database access.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<LoanStatus, Long> getStatusCount() {
+        return loanStatusCounter.snapshot();
+    }
+    
+    /**
+     * Served from the in-memory {@link CustomerLeaderboard}; no database access.
+     * 
+     * @param limit Number of customers to return
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Map<String, Object>> getTopCustomers(int limit) {
+        return customerLeaderboard.top(limit).stream()
+                .map(entry -> {
+                    Map<String, Object> customer = new LinkedHashMap<>();
+                    customer.put("customerName", entry.getCustomerName());
+                    customer.put("approvedCount", entry.getApprovedCount());
                     return customer;
                 })
                 .collect(Collectors.toList());
     }
     
+    public int getMaxTopCustomers() {
+        return customerLeaderboard.getMaxK();
+    }
+    
     /**
-     * Process loans that are ready for automated processing.
-     * This method is called by the scheduler.
+     * Process loans that are ready for automated processing, leasing them from
+     * the {@link LoanWorkQueue} in batches of {@code los.processing.queue.batch-size}
+     * until it is empty. Concurrent runs take disjoint batches. Not transactional
+     * itself: each lease and each outcome commits as soon as it is done.
+     * This method is called by the scheduler. Runs on {@code los.processing.executor},
+     * which the simulation profile points at a synchronous executor.
      */
-    @Async("loanProcessingExecutor")
+    @Async("${los.processing.executor:loanProcessingExecutor}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void processLoansReadyForProcessing() {
-        List<Loan> loansToProcess = loanRepository.findLoansReadyForProcessing();
-        
-        for (Loan loan : loansToProcess) {
-            // Check if loan is already being processed
-            if (processingLoans.putIfAbsent(loan.getLoanId(), true) == null) {
-                try {
-                    processLoan(loan);
-                } finally {
-                    processingLoans.remove(loan.getLoanId());
-                }
+        List<Long> batch;
+        do {
+            batch = loanWorkQueue.lease(processingBatchSize);
+            for (Long id : batch) {
+                processLoan(id);
             }
-        }
+        } while (batch.size() == processingBatchSize);
     }
     
-    private void processLoan(Loan loan) {
-        logger.info("Starting processing for loan: {}", loan.getLoanId());
+    /**
+     * The processing delay holds no transaction of its own. Only the start
+     * time is written before it; the loan stays {@code APPLIED} until the
+     * outcome, the agent assignment, the removal from the queue and the status
+     * event commit together in a new transaction. That happens only if the
+     * queue row is still there, so a loan whose lease ran out mid-way is
+     * recorded once. Notifications go out after the commit. A loan that fails
+     * before then is retried once its lease runs out.
+     */
+    private void processLoan(Long id) {
+        Loan loan = loanRepository.findById(id).orElse(null);
+        if (loan == null || loan.getStatus() != LoanStatus.APPLIED) {
+            // Moved on by some other path; outcomes are never committed without removing the row
+            logger.warn("Dropping queued loan {}: no longer awaiting processing", id);
+            transactionTemplate.executeWithoutResult(status -> loanWorkQueue.complete(id));
+            return;
+        }
+        
+        MDC.put("loanId", loan.getLoanId());
+        logger.debug("Starting processing for loan: {}", loan.getLoanId());
+        LoanStatus previousStatus = loan.getStatus();
+        LoanType type = loan.getLoanType();
         
         try {
-            loan.setProcessingStartedAt(LocalDateTime.now());
-            loanRepository.save(loan);
+            loan.setProcessingStartedAt(LocalDateTime.now(clock));
+            pipelineMetrics.recordQueueWait(type, loan.getCreatedAt(), loan.getProcessingStartedAt());
+            int[] started = new int[1];
+            pipelineMetrics.timePersistence(type, "mark_started", () -> started[0] = transactionTemplate.execute(
+                    status -> loanRepository.markProcessingStarted(id, loan.getProcessingStartedAt())));
+            if (started[0] == 0) {
+                logger.warn("Loan {} was processed elsewhere after its lease ran out", loan.getLoanId());
+                return;
+            }
+            // A bulk update raises no status event, so drop the cached body and ETag here, after the commit
+            loanResponseCache.invalidate(id, loan.getLoanId());
             
-            notificationService.sendProcessingStartedNotification(loan);
+            pipelineMetrics.timeNotification(type, "processing_started",
+                    () -> notificationService.sendProcessingStartedNotification(loan));
             
             simulateProcessingDelay();
             
+            Timer.Sample rules = pipelineMetrics.start();
             LoanStatus newStatus = applyBusinessRules(loan);
+            pipelineMetrics.recordRules(rules, type, newStatus);
             loan.setStatus(newStatus);
             
+            // Cleared first so a loan assigned by an earlier, abandoned run is assigned afresh
+            loan.setAssignedAgentId(null);
             if (newStatus == LoanStatus.UNDER_REVIEW) {
                 assignLoanToAgent(loan);
             }
             
-            loan.setProcessingCompletedAt(LocalDateTime.now());
-            loanRepository.save(loan);
+            loan.setProcessingCompletedAt(LocalDateTime.now(clock));
+            boolean recorded = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                // loan is detached: only the merged copy gets the updatedAt written on flush
+                Loan[] saved = new Loan[1];
+                pipelineMetrics.timePersistence(type, "save_outcome",
+                        () -> saved[0] = loanRepository.saveAndFlush(loan));
+                if (!loanWorkQueue.complete(id)) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                eventPublisher.publishEvent(new LoanStatusChangedEvent(saved[0], previousStatus));
+                return true;
+            }));
+            if (!recorded) {
+                logger.warn("Loan {} was processed elsewhere after its lease ran out; discarding this outcome",
+                           loan.getLoanId());
+                return;
+            }
+            
+            if (loan.getAssignedAgentId() != null) {
+                pipelineMetrics.timeNotification(type, "assignment",
+                        () -> agentService.sendAssignmentNotifications(loan));
+            }
             
-            notificationService.sendProcessingCompletedNotification(loan);
+            pipelineMetrics.timeNotification(type, "processing_completed",
+                    () -> notificationService.sendProcessingCompletedNotification(loan));
             
             if (newStatus.isApproved()) {
-                notificationService.sendLoanApprovalSMS(
-                    loan.getCustomerPhone(), 
-                    loan.getCustomerName(), 
-                    loan
-                );
+                pipelineMetrics.timeNotification(type, "approval_sms",
+                        () -> notificationService.sendLoanApprovalSMS(
+                            loan.getCustomerPhone(), 
+                            loan.getCustomerName(), 
+                            loan
+                        ));
             } else if (newStatus.isRejected()) {
-                notificationService.sendLoanRejectionSMS(
-                    loan.getCustomerPhone(), 
-                    loan.getCustomerName(), 
-                    loan, 
-                    loan.getDecisionReason()
-                );
+                pipelineMetrics.timeNotification(type, "rejection_sms",
+                        () -> notificationService.sendLoanRejectionSMS(
+                            loan.getCustomerPhone(), 
+                            loan.getCustomerName(), 
+                            loan, 
+                            loan.getDecisionReason()
+                        ));
             }
             
+            pipelineMetrics.recordLoanProcessed(type, newStatus.name());
             logger.info("Completed processing for loan: {}. Final status: {}", 
                        loan.getLoanId(), newStatus);
             
         } catch (Exception e) {
+            pipelineMetrics.recordLoanProcessed(type, LoanPipelineMetrics.ERROR);
             logger.error("Error processing loan: {}", loan.getLoanId(), e);
             // In a real system, you might want to retry or mark as failed
+        } finally {
+            MDC.remove("loanId");
+            MDC.remove("agentId");
         }
     }
-
-    private LoanStatus applyBusinessRules(Loan loan) {
+    
+    // The stateless helpers below are static so the JMH suites in benchmarks/
+    // can call them without a Spring context. The synthetic data seeder
+    // classifies loans with the same rules, hence the public one.
+    public static LoanStatus applyBusinessRules(Loan loan) {
         BigDecimal amount = loan.getLoanAmount();
         LoanType type = loan.getLoanType();
         
@@ -231,44 +472,80 @@ public class LoanService {
         return LoanStatus.APPROVED_BY_SYSTEM;
     }
     
+    /**
+     * Pick an agent for the loan. Saved with the outcome; nothing is written here.
+     */
     private void assignLoanToAgent(Loan loan) {
+        LoanType type = loan.getLoanType();
+        Timer.Sample assignment = pipelineMetrics.start();
+        String outcome = "unassigned";
         try {
             Long agentId = agentService.assignLoanToAvailableAgent(loan);
             if (agentId != null) {
                 loan.setAssignedAgentId(agentId);
-                loanRepository.save(loan);
-                
-                // Send notifications
-                agentService.sendAssignmentNotifications(loan);
-                
-                logger.info("Loan {} assigned to agent {}", loan.getLoanId(), agentId);
+                MDC.put("agentId", agentId.toString());
+                outcome = "assigned";
+                logger.debug("Loan {} assigned to agent {}", loan.getLoanId(), agentId);
             } else {
                 logger.warn("No available agent found for loan: {}", loan.getLoanId());
             }
         } catch (Exception e) {
+            outcome = LoanPipelineMetrics.ERROR;
             logger.error("Error assigning loan to agent: {}", loan.getLoanId(), e);
+        } finally {
+            pipelineMetrics.recordAssignment(assignment, type, outcome);
         }
     }
     
     /**
-     * Simulate processing delay.
+     * Reject searches that no index can serve. At least one of status, assigned agent
+     * or customer phone must be given (each leads an (x, created_at, id) index), or else
+     * a closed created-at range no wider than {@code los.search.max-created-range-days}.
+     * Loan type and amount are only applied as residual filters.
+     */
+    private void requireIndexedAccessPath(LoanSearchCriteria criteria) {
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount().compareTo(criteria.getMaxAmount()) > 0) {
+            throw new IllegalArgumentException("minAmount must not exceed maxAmount");
+        }
+        
+        if (criteria.getStatus() != null || criteria.getAssignedAgentId() != null
+                || (criteria.getCustomerPhone() != null && !criteria.getCustomerPhone().isBlank())) {
+            return;
+        }
+        
+        LocalDateTime from = criteria.getCreatedFrom();
+        LocalDateTime to = criteria.getCreatedTo();
+        if (from == null || to == null) {
+            throw new IllegalArgumentException(
+                "Search requires status, assignedAgentId, customerPhone or both createdFrom and createdTo");
+        }
+        if (to.isBefore(from) || Duration.between(from, to).toDays() > maxCreatedRangeDays) {
+            throw new IllegalArgumentException(
+                "createdFrom/createdTo range must be at most " + maxCreatedRangeDays + " days");
+        }
+    }
+    
+    /**
+     * Simulate processing delay, uniformly between {@code los.processing.delay-min-seconds}
+     * and {@code los.processing.delay-max-seconds} (20-30 seconds by default).
      */
     private void simulateProcessingDelay() {
         try {
-            // Random delay between 20-30 seconds
-            long delay = (long) (Math.random() * 10000) + 20000; // 20-30 seconds
-            Thread.sleep(delay);
+            double seconds = processingDelayMinSeconds
+                    + random.nextDouble() * (processingDelayMaxSeconds - processingDelayMinSeconds);
+            sleeper.sleep(Duration.ofMillis((long) (seconds * 1000)));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             logger.warn("Processing delay interrupted");
         }
     }
-
-    private String generateLoanId() {
+    
+    static String generateLoanId() {
         return "LOAN-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
     
-    private LoanResponse convertToResponse(Loan loan) {
+    static LoanResponse convertToResponse(Loan loan) {
         return new LoanResponse(
             loan.getId(),
             loan.getLoanId(),
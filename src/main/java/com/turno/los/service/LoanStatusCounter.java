@@ -0,0 +1,91 @@
+package com.turno.los.service;
+
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.event.LoanStatusChangedEvent;
+import com.turno.los.repository.ArchivedLoanRepository;
+import com.turno.los.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory count of loans per status, kept up to date from committed
+ * status transitions so reads never hit the database.
+ * <p>
+ * A transition that commits while {@link #reconcile()} is running can be
+ * counted twice or lost; the periodic reconciliation corrects that drift.
+ */
+@Component
+public class LoanStatusCounter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoanStatusCounter.class);
+    
+    private final LoanRepository loanRepository;
+    private final ArchivedLoanRepository archivedLoanRepository;
+    
+    private final Map<LoanStatus, LongAdder> counters = new EnumMap<>(LoanStatus.class);
+    
+    @Autowired
+    public LoanStatusCounter(LoanRepository loanRepository, ArchivedLoanRepository archivedLoanRepository) {
+        this.loanRepository = loanRepository;
+        this.archivedLoanRepository = archivedLoanRepository;
+        for (LoanStatus status : LoanStatus.values()) {
+            counters.put(status, new LongAdder());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(LoanStatusChangedEvent event) {
+        if (event.getPreviousStatus() != null) {
+            counters.get(event.getPreviousStatus()).decrement();
+        }
+        counters.get(event.getNewStatus()).increment();
+    }
+    
+    /**
+     * Current count per status. O(number of statuses), no database access.
+     */
+    public Map<LoanStatus, Long> snapshot() {
+        Map<LoanStatus, Long> snapshot = new EnumMap<>(LoanStatus.class);
+        counters.forEach((status, counter) -> snapshot.put(status, counter.sum()));
+        return snapshot;
+    }
+    
+    /**
+     * Reset the counters from a GROUP BY over the live loans and one over the
+     * archive. Both run in one repeatable-read transaction, so a chunk the
+     * archiver moves in between is counted once.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void reconcile() {
+        Map<LoanStatus, Long> actual = new EnumMap<>(LoanStatus.class);
+        List<Object[]> rows = new ArrayList<>(loanRepository.countGroupByStatus());
+        rows.addAll(archivedLoanRepository.countGroupByStatus());
+        for (Object[] row : rows) {
+            actual.merge((LoanStatus) row[0], (Long) row[1], Long::sum);
+        }
+        
+        for (LoanStatus status : LoanStatus.values()) {
+            long expected = actual.getOrDefault(status, 0L);
+            LongAdder counter = counters.get(status);
+            long drift = expected - counter.sum();
+            if (drift != 0) {
+                counter.add(drift);
+                logger.debug("Reconciled {} count by {}", status, drift);
+            }
+        }
+    }
+}
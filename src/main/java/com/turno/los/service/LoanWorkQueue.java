@@ -0,0 +1,192 @@
+package com.turno.los.service;
+
+import com.turno.los.enums.WorkItemState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loans waiting for automated processing, kept in {@code loan_work_queue}
+ * instead of being found by scanning {@code loans}. A row is added in the
+ * same transaction as its loan and deleted in the same transaction as the
+ * processing outcome, so the table only ever holds the backlog.
+ * <p>
+ * Processors lease rows in batches with {@code FOR UPDATE SKIP LOCKED}, so
+ * concurrent processors, in this instance or others on the same database,
+ * take disjoint batches without waiting on each other. A lease makes the row
+ * invisible for {@code los.processing.queue.lease-seconds}; a loan not
+ * completed by then, say because its processor died, is handed out again.
+ * After {@code max-attempts} leases the row is marked {@code FAILED}, logged
+ * and counted in {@code los.processing.queue.exhausted}; it stays in the table,
+ * and its loan in {@code APPLIED}, until an operator deletes or resets it.
+ */
+@Component
+public class LoanWorkQueue {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoanWorkQueue.class);
+    
+    private static final String ENQUEUE =
+        "INSERT INTO loan_work_queue (loan_id, state, visible_at, attempts, enqueued_at) " +
+        "VALUES (:loanId, :state, :now, 0, :now)";
+    
+    // Served by idx_work_queue_visible_at
+    private static final String SELECT_VISIBLE =
+        "SELECT loan_id, attempts FROM loan_work_queue WHERE visible_at <= :now AND state <> :failed " +
+        "AND attempts < :maxAttempts ORDER BY visible_at, loan_id LIMIT :limit FOR UPDATE SKIP LOCKED";
+    
+    // Last lease ran out with no attempts left
+    private static final String SELECT_EXHAUSTED =
+        "SELECT loan_id FROM loan_work_queue WHERE visible_at <= :now AND state <> :failed " +
+        "AND attempts >= :maxAttempts FOR UPDATE SKIP LOCKED";
+    
+    private static final String FAIL = "UPDATE loan_work_queue SET state = :failed WHERE loan_id IN (:ids)";
+    
+    private static final String LEASE =
+        "UPDATE loan_work_queue SET state = :state, visible_at = :leaseUntil, attempts = attempts + 1 " +
+        "WHERE loan_id IN (:ids)";
+    
+    private static final String COMPLETE = "DELETE FROM loan_work_queue WHERE loan_id = :loanId";
+    
+    // Loans left from before the queue existed, including ones assigned by a run that died before
+    // recording its outcome, or loaded without it (e.g. by the seed profile)
+    private static final String BACKFILL =
+        "INSERT INTO loan_work_queue (loan_id, state, visible_at, attempts, enqueued_at) " +
+        "SELECT l.id, :state, l.created_at, 0, :now FROM loans l " +
+        "WHERE l.status = 'APPLIED' " +
+        "AND NOT EXISTS (SELECT 1 FROM loan_work_queue q WHERE q.loan_id = l.id)";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Counter redeliveries;
+    private final Counter exhausted;
+    
+    @Value("${los.processing.queue.lease-seconds:600}")
+    private long leaseSeconds;
+    
+    @Value("${los.processing.queue.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Autowired
+    public LoanWorkQueue(DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         Clock clock,
+                         MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A lease commits straight away, whatever the caller is doing
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+        this.redeliveries = Counter.builder("los.processing.queue.redeliveries")
+                .description("Queued loans leased again after an earlier lease ran out")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("los.processing.queue.exhausted")
+                .description("Queued loans marked FAILED after max-attempts leases ran out")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Queue a newly saved loan. Call inside the transaction that inserts it.
+     *
+     * @param id Primary key of the loan
+     */
+    public void enqueue(Long id) {
+        jdbcTemplate.update(ENQUEUE, new MapSqlParameterSource()
+                .addValue("loanId", id)
+                .addValue("state", WorkItemState.READY.name())
+                .addValue("now", now()));
+    }
+    
+    /**
+     * Lease up to {@code limit} visible loans, oldest first, in a transaction
+     * of its own. Rows whose last lease ran out with no attempts left are
+     * marked {@code FAILED} first.
+     *
+     * @return Primary keys of the leased loans
+     */
+    public List<Long> lease(int limit) {
+        return transactionTemplate.execute(status -> {
+            Timestamp now = now();
+            failExhausted(now);
+            
+            List<Long> ids = new ArrayList<>(limit);
+            jdbcTemplate.query(SELECT_VISIBLE, new MapSqlParameterSource()
+                    .addValue("now", now)
+                    .addValue("failed", WorkItemState.FAILED.name())
+                    .addValue("maxAttempts", maxAttempts)
+                    .addValue("limit", limit), rs -> {
+                        ids.add(rs.getLong("loan_id"));
+                        if (rs.getInt("attempts") > 0) {
+                            redeliveries.increment();
+                        }
+                    });
+            if (!ids.isEmpty()) {
+                jdbcTemplate.update(LEASE, new MapSqlParameterSource()
+                        .addValue("state", WorkItemState.LEASED.name())
+                        .addValue("leaseUntil", Timestamp.valueOf(now.toLocalDateTime().plusSeconds(leaseSeconds)))
+                        .addValue("ids", ids));
+            }
+            return ids;
+        });
+    }
+    
+    private void failExhausted(Timestamp now) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_EXHAUSTED, new MapSqlParameterSource()
+                .addValue("now", now)
+                .addValue("failed", WorkItemState.FAILED.name())
+                .addValue("maxAttempts", maxAttempts), Long.class);
+        if (!ids.isEmpty()) {
+            jdbcTemplate.update(FAIL, new MapSqlParameterSource()
+                    .addValue("failed", WorkItemState.FAILED.name())
+                    .addValue("ids", ids));
+            exhausted.increment(ids.size());
+            logger.error("Gave up on loans {} after {} lease(s) ran out without an outcome",
+                         ids, maxAttempts);
+        }
+    }
+    
+    /**
+     * Remove a processed loan. Call inside the transaction that saves its outcome.
+     *
+     * @return false if the row was already gone: another processor leased the
+     *         loan after this lease ran out and completed it first
+     */
+    public boolean complete(Long id) {
+        return jdbcTemplate.update(COMPLETE, new MapSqlParameterSource("loanId", id)) > 0;
+    }
+    
+    /**
+     * Queue every unprocessed loan that has no row yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int added = jdbcTemplate.update(BACKFILL, new MapSqlParameterSource()
+                .addValue("state", WorkItemState.READY.name())
+                .addValue("now", now()));
+        if (added > 0) {
+            logger.info("Queued {} unprocessed loans for processing", added);
+        }
+    }
+    
+    private Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now(clock));
+    }
+}
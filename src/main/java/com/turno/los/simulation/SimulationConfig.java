@@ -0,0 +1,89 @@
+package com.turno.los.simulation;
+
+import com.turno.los.clock.ApplicationClock;
+import com.turno.los.clock.VirtualClock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Virtual replacements for {@code ClockConfig}'s clock, sleeper and
+ * randomness, plus the scheduler and executor that keep the whole pipeline
+ * on the simulation thread. The processing and notification {@code @Async}
+ * methods are pointed at {@code simulationExecutor} by
+ * {@code application-simulation.yml}.
+ */
+@Configuration
+@Profile("simulation")
+public class SimulationConfig implements SchedulingConfigurer {
+    
+    @Value("${los.simulation.random-seed:42}")
+    private long randomSeed;
+    
+    @Value("${los.simulation.start:}")
+    private String start;
+    
+    private final ObjectProvider<VirtualTaskScheduler> taskScheduler;
+    
+    @Autowired
+    public SimulationConfig(ObjectProvider<VirtualTaskScheduler> taskScheduler) {
+        this.taskScheduler = taskScheduler;
+    }
+    
+    /**
+     * Register the scheduler directly. Spring would otherwise route to it
+     * through a wrapper that reports the system clock, and every task's
+     * first run would be timed from the wall clock.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(taskScheduler.getObject());
+    }
+    
+    /**
+     * Starts at {@code los.simulation.start}, or midnight today, in the system zone.
+     */
+    @Bean
+    public VirtualClock clock() {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime startTime = start.isBlank() ? LocalDate.now(zone).atStartOfDay() : LocalDateTime.parse(start);
+        VirtualClock clock = new VirtualClock(startTime.atZone(zone).toInstant(), zone);
+        ApplicationClock.set(clock);
+        return clock;
+    }
+    
+    @Bean
+    public VirtualTaskScheduler taskScheduler(VirtualClock clock, PlatformTransactionManager transactionManager) {
+        TransactionTemplate nestedTransaction = new TransactionTemplate(transactionManager);
+        nestedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return new VirtualTaskScheduler(clock, nestedTransaction);
+    }
+    
+    @Bean
+    public SyncTaskExecutor simulationExecutor() {
+        return new SyncTaskExecutor();
+    }
+    
+    /**
+     * Seeded, so processing delays and agent choices repeat from run to run.
+     */
+    @Bean
+    public RandomGenerator randomGenerator() {
+        return new Random(randomSeed);
+    }
+}
@@ -0,0 +1,321 @@
+package com.turno.los.simulation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turno.los.clock.VirtualClock;
+import com.turno.los.dto.AgentDecisionRequest;
+import com.turno.los.dto.LatencySnapshot;
+import com.turno.los.dto.LoanApplicationRequest;
+import com.turno.los.enums.AgentDecision;
+import com.turno.los.enums.LatencyStage;
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+import com.turno.los.event.LoanStatusChangedEvent;
+import com.turno.los.service.AgentService;
+import com.turno.los.service.LoanLatencyTracker;
+import com.turno.los.service.LoanService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Replays a stretch of loan traffic against the real services in virtual
+ * time under the {@code simulation} profile, then writes a capacity report
+ * and exits.
+ * <p>
+ * Applications arrive as a Poisson process whose rate follows a daily curve
+ * peaking at noon. Loans go through the normal scheduled processing run, and
+ * each agent reviews its assigned loans one at a time with exponentially
+ * distributed review times. Everything runs on one thread from seeded random
+ * streams, so the same settings give the same report.
+ */
+@Component
+@Profile("simulation")
+public class SimulationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SimulationRunner.class);
+    
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    private static final LoanType[] TYPES = {LoanType.PERSONAL, LoanType.HOME, LoanType.AUTO, LoanType.BUSINESS};
+    private static final double[] TYPE_CUMULATIVE_SHARE = {0.45, 0.60, 0.85, 1.0};
+    private static final double[] MEDIAN_AMOUNT = {12_000, 180_000, 30_000, 80_000};
+    private static final double AMOUNT_SIGMA = 0.8;
+    private static final int CUSTOMERS = 50_000;
+    
+    private final VirtualTaskScheduler scheduler;
+    private final VirtualClock clock;
+    private final LoanService loanService;
+    private final AgentService agentService;
+    private final LoanLatencyTracker latencyTracker;
+    private final ConfigurableApplicationContext context;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${los.simulation.random-seed:42}")
+    private long randomSeed;
+    
+    @Value("${los.simulation.duration-hours:24}")
+    private double durationHours;
+    
+    @Value("${los.simulation.drain-hours:0}")
+    private double drainHours;
+    
+    @Value("${los.simulation.arrivals-per-hour:120}")
+    private double arrivalsPerHour;
+    
+    @Value("${los.simulation.diurnal-amplitude:0.5}")
+    private double diurnalAmplitude;
+    
+    @Value("${los.simulation.mean-review-minutes:10}")
+    private double meanReviewMinutes;
+    
+    @Value("${los.simulation.approve-ratio:0.7}")
+    private double approveRatio;
+    
+    @Value("${los.simulation.report-dir:target/simulation-reports}")
+    private String reportDir;
+    
+    @Value("${los.simulation.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+    
+    private SplittableRandom arrivalRandom;
+    private SplittableRandom reviewRandom;
+    private final Map<Long, Instant> agentFreeAt = new HashMap<>();
+    
+    private long submitted;
+    private long agentDecisions;
+    private long unassignedReviews;
+    private long awaitingProcessing;
+    private long awaitingReview;
+    private long peakAwaitingProcessing;
+    private long peakAwaitingReview;
+    
+    @Autowired
+    public SimulationRunner(VirtualTaskScheduler scheduler,
+                            VirtualClock clock,
+                            LoanService loanService,
+                            AgentService agentService,
+                            LoanLatencyTracker latencyTracker,
+                            ConfigurableApplicationContext context,
+                            ObjectMapper objectMapper) {
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.loanService = loanService;
+        this.agentService = agentService;
+        this.latencyTracker = latencyTracker;
+        this.context = context;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Runs once startup is complete, after the sample agents are in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+        if (durationHours <= 0 || arrivalsPerHour <= 0 || drainHours < 0 || meanReviewMinutes <= 0
+                || diurnalAmplitude < 0 || diurnalAmplitude > 1) {
+            throw new IllegalArgumentException("Invalid los.simulation.* settings");
+        }
+        
+        SplittableRandom root = new SplittableRandom(randomSeed);
+        arrivalRandom = root.split();
+        reviewRandom = root.split();
+        
+        Instant start = clock.instant();
+        Instant arrivalsEnd = start.plus(hours(durationHours));
+        Instant end = arrivalsEnd.plus(hours(drainHours));
+        logger.info("Simulating {} h of traffic at {} applications/h from {} (seed {})",
+                durationHours, arrivalsPerHour, LocalDateTime.now(clock), randomSeed);
+        
+        long wallStarted = System.nanoTime();
+        scheduleNextArrival(start, arrivalsEnd);
+        // A processing run can carry the clock past the hour; progress is logged from where it stopped
+        while (clock.instant().isBefore(end)) {
+            Instant nextHour = clock.instant().plus(Duration.ofHours(1));
+            scheduler.advanceTo(nextHour.isBefore(end) ? nextHour : end);
+            logger.info("{}: {} submitted, {} awaiting processing, {} awaiting review",
+                    LocalDateTime.now(clock), submitted, awaitingProcessing, awaitingReview);
+        }
+        double wallSeconds = (System.nanoTime() - wallStarted) / 1e9;
+        
+        Map<String, Object> report = report(start, end, wallSeconds);
+        try {
+            Path written = write(report);
+            logger.info("Simulated {} h in {} s; report written to {}", durationHours + drainHours,
+                    String.format("%.1f", wallSeconds), written);
+        } catch (IOException e) {
+            logger.error("Failed to write simulation report", e);
+        }
+        
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(LoanStatusChangedEvent event) {
+        LoanStatus previous = event.getPreviousStatus();
+        if (previous == null) {
+            awaitingProcessing++;
+            peakAwaitingProcessing = Math.max(peakAwaitingProcessing, awaitingProcessing);
+        } else if (previous == LoanStatus.APPLIED) {
+            awaitingProcessing--;
+        } else if (previous == LoanStatus.UNDER_REVIEW) {
+            awaitingReview--;
+        }
+        
+        if (event.getNewStatus() == LoanStatus.UNDER_REVIEW) {
+            if (event.getAssignedAgentId() != null) {
+                awaitingReview++;
+                peakAwaitingReview = Math.max(peakAwaitingReview, awaitingReview);
+                scheduleReview(event);
+            } else {
+                unassignedReviews++;
+            }
+        }
+    }
+    
+    private void scheduleNextArrival(Instant after, Instant end) {
+        Instant next = nextArrival(after);
+        if (next.isBefore(end)) {
+            scheduler.schedule(() -> {
+                submit();
+                scheduleNextArrival(next, end);
+            }, next);
+        }
+    }
+    
+    /**
+     * Next arrival of a Poisson process with the daily rate curve, by thinning
+     * a process at the peak rate.
+     */
+    private Instant nextArrival(Instant after) {
+        double peakPerSecond = arrivalsPerHour * (1 + diurnalAmplitude) / 3600;
+        Instant candidate = after;
+        while (true) {
+            double gapSeconds = -Math.log(1 - arrivalRandom.nextDouble()) / peakPerSecond;
+            candidate = candidate.plusNanos((long) (gapSeconds * 1e9));
+            double secondOfDay = LocalDateTime.ofInstant(candidate, clock.getZone()).toLocalTime().toSecondOfDay();
+            double relativeRate = 1 + diurnalAmplitude * Math.sin(2 * Math.PI * (secondOfDay / 86400 - 0.25));
+            if (arrivalRandom.nextDouble() * (1 + diurnalAmplitude) < relativeRate) {
+                return candidate;
+            }
+        }
+    }
+    
+    private void submit() {
+        double draw = arrivalRandom.nextDouble();
+        int type = 0;
+        while (draw > TYPE_CUMULATIVE_SHARE[type]) {
+            type++;
+        }
+        double amount = MEDIAN_AMOUNT[type] * Math.exp(AMOUNT_SIGMA * arrivalRandom.nextGaussian());
+        // Skewed towards low customer numbers, so some customers apply repeatedly
+        int customer = (int) (Math.pow(arrivalRandom.nextDouble(), 2) * CUSTOMERS);
+        
+        loanService.submitLoanApplication(new LoanApplicationRequest(
+                String.format("Customer %05d", customer),
+                String.format("+1555%07d", customer),
+                BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP),
+                TYPES[type]));
+        submitted++;
+    }
+    
+    /**
+     * The agent starts on the loan once done with the ones assigned before it.
+     */
+    private void scheduleReview(LoanStatusChangedEvent event) {
+        Long agentId = event.getAssignedAgentId();
+        String loanId = event.getLoanId();
+        Instant assignedAt = event.getOccurredAt().atZone(clock.getZone()).toInstant();
+        Instant freeAt = agentFreeAt.getOrDefault(agentId, assignedAt);
+        Instant startsAt = freeAt.isAfter(assignedAt) ? freeAt : assignedAt;
+        double reviewSeconds = -Math.log(1 - reviewRandom.nextDouble()) * meanReviewMinutes * 60;
+        Instant decidedAt = startsAt.plusMillis((long) (reviewSeconds * 1000));
+        AgentDecision decision = reviewRandom.nextDouble() < approveRatio ? AgentDecision.APPROVE : AgentDecision.REJECT;
+        agentFreeAt.put(agentId, decidedAt);
+        
+        scheduler.schedule(() -> {
+            if (agentService.processAgentDecision(agentId, loanId, new AgentDecisionRequest(decision))) {
+                agentDecisions++;
+            }
+        }, decidedAt);
+    }
+    
+    private Map<String, Object> report(Instant start, Instant end, double wallSeconds) {
+        double simulatedHours = Duration.between(start, end).toSeconds() / 3600.0;
+        
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("randomSeed", randomSeed);
+        settings.put("start", LocalDateTime.ofInstant(start, clock.getZone()));
+        settings.put("durationHours", durationHours);
+        settings.put("drainHours", drainHours);
+        settings.put("arrivalsPerHour", arrivalsPerHour);
+        settings.put("diurnalAmplitude", diurnalAmplitude);
+        settings.put("meanReviewMinutes", meanReviewMinutes);
+        settings.put("approveRatio", approveRatio);
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("submitted", submitted);
+        report.put("processedPerHour", (submitted - awaitingProcessing) / simulatedHours);
+        report.put("agentDecisions", agentDecisions);
+        report.put("awaitingProcessingAtEnd", awaitingProcessing);
+        report.put("awaitingReviewAtEnd", awaitingReview);
+        report.put("peakAwaitingProcessing", peakAwaitingProcessing);
+        report.put("peakAwaitingReview", peakAwaitingReview);
+        report.put("unassignedReviews", unassignedReviews);
+        report.put("statusCounts", loanService.getStatusCount());
+        
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        for (LatencyStage stage : LatencyStage.values()) {
+            LatencySnapshot snapshot = latencyTracker.snapshot(stage, null, null);
+            snapshot.setHistogram(null);
+            latencies.put(stage.name(), snapshot);
+        }
+        report.put("latencyMs", latencies);
+        
+        // Wall-clock figures vary between runs; everything above does not
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("wallSeconds", wallSeconds);
+        run.put("speedup", simulatedHours * 3600 / wallSeconds);
+        run.put("scheduledTasks", scheduler.getExecutedTasks());
+        report.put("run", run);
+        return report;
+    }
+    
+    private Path write(Map<String, Object> report) throws IOException {
+        Path directory = Paths.get(reportDir);
+        Files.createDirectories(directory);
+        Path file = directory.resolve(String.format("simulation-%s-seed%d.json",
+                FILE_TIMESTAMP.format(LocalDateTime.now()), randomSeed));
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        return file;
+    }
+    
+    private static Duration hours(double hours) {
+        return Duration.ofMillis((long) (hours * 3_600_000));
+    }
+}
@@ -0,0 +1,224 @@
+package com.turno.los.simulation;
+
+import com.turno.los.clock.Sleeper;
+import com.turno.los.clock.VirtualClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.PriorityQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Discrete-event {@link TaskScheduler} on a {@link VirtualClock}. Nothing runs
+ * until {@link #advanceTo} is called; tasks then run on the calling thread in
+ * order of due time, ties in order of scheduling, with the clock set to each
+ * task's due time. Every {@code @Scheduled} method in the context is driven
+ * this way under the simulation profile.
+ * <p>
+ * As the {@link Sleeper}, a sleep runs whatever falls due before it ends and
+ * then moves the clock on, so arrivals keep their own timestamps while a
+ * processing run is waiting. Tasks run from inside a transaction get a new
+ * one of their own, as they would on a separate thread.
+ */
+public class VirtualTaskScheduler implements TaskScheduler, Sleeper {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VirtualTaskScheduler.class);
+    
+    private final VirtualClock clock;
+    private final TransactionTemplate nestedTransaction;
+    
+    private final PriorityQueue<VirtualTask> queue = new PriorityQueue<>();
+    private long sequence;
+    private long executedTasks;
+    
+    /**
+     * @param nestedTransaction Template with {@code PROPAGATION_REQUIRES_NEW}
+     */
+    public VirtualTaskScheduler(VirtualClock clock, TransactionTemplate nestedTransaction) {
+        this.clock = clock;
+        this.nestedTransaction = nestedTransaction;
+    }
+    
+    @Override
+    public Clock getClock() {
+        return clock;
+    }
+    
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        SimpleTriggerContext context = new SimpleTriggerContext(clock);
+        Instant first = trigger.nextExecution(context);
+        if (first == null) {
+            return null;
+        }
+        return enqueue(new VirtualTask(task, first, completed -> {
+            context.update(completed.time, completed.startedAt, clock.instant());
+            return trigger.nextExecution(context);
+        }));
+    }
+    
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+        return enqueue(new VirtualTask(task, startTime, completed -> null));
+    }
+    
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+        return enqueue(new VirtualTask(task, startTime, completed -> completed.time.plus(period)));
+    }
+    
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        return scheduleAtFixedRate(task, clock.instant(), period);
+    }
+    
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+        return enqueue(new VirtualTask(task, startTime, completed -> clock.instant().plus(delay)));
+    }
+    
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+        return scheduleWithFixedDelay(task, clock.instant(), delay);
+    }
+    
+    @Override
+    public void sleep(Duration duration) {
+        advanceTo(clock.instant().plus(duration));
+    }
+    
+    /**
+     * Run every task due up to {@code target}, including tasks they schedule
+     * within it, and leave the clock at {@code target}.
+     */
+    public void advanceTo(Instant target) {
+        VirtualTask task;
+        while ((task = pollDue(target)) != null) {
+            clock.advanceTo(task.time);
+            run(task);
+        }
+        clock.advanceTo(target);
+    }
+    
+    public long getExecutedTasks() {
+        return executedTasks;
+    }
+    
+    private void run(VirtualTask task) {
+        task.startedAt = clock.instant();
+        executedTasks++;
+        try {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                nestedTransaction.executeWithoutResult(status -> task.runnable.run());
+            } else {
+                task.runnable.run();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Simulated task failed at {}", task.time, e);
+        }
+        
+        Instant next = task.cancelled ? null : task.next.apply(task);
+        if (next != null) {
+            task.time = next;
+            enqueue(task);
+        } else {
+            task.done = true;
+        }
+    }
+    
+    private synchronized VirtualTask enqueue(VirtualTask task) {
+        task.sequence = sequence++;
+        queue.add(task);
+        return task;
+    }
+    
+    private synchronized VirtualTask pollDue(Instant target) {
+        while (!queue.isEmpty()) {
+            VirtualTask head = queue.peek();
+            if (head.time.isAfter(target)) {
+                return null;
+            }
+            queue.poll();
+            if (!head.cancelled) {
+                return head;
+            }
+        }
+        return null;
+    }
+    
+    private final class VirtualTask implements ScheduledFuture<Object> {
+        
+        private final Runnable runnable;
+        private final Function<VirtualTask, Instant> next;
+        private Instant time;
+        private Instant startedAt;
+        private long sequence;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        
+        private VirtualTask(Runnable runnable, Instant time, Function<VirtualTask, Instant> next) {
+            this.runnable = runnable;
+            this.time = time;
+            this.next = next;
+        }
+        
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(clock.instant(), time));
+        }
+        
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof VirtualTask) {
+                VirtualTask task = (VirtualTask) other;
+                int byTime = time.compareTo(task.time);
+                return byTime != 0 ? byTime : Long.compare(sequence, task.sequence);
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+        
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (done) {
+                return false;
+            }
+            cancelled = true;
+            done = true;
+            return true;
+        }
+        
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+        
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+        
+        /**
+         * Never blocks: virtual tasks only complete while the simulation advances.
+         */
+        @Override
+        public Object get() {
+            return null;
+        }
+        
+        @Override
+        public Object get(long timeout, TimeUnit unit) {
+            return null;
+        }
+    }
+}
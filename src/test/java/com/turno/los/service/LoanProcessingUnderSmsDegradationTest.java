@@ -0,0 +1,142 @@
+package com.turno.los.service;
+
+import com.turno.los.dto.LoanApplicationRequest;
+import com.turno.los.enums.LoanStatus;
+import com.turno.los.enums.LoanType;
+import com.turno.los.notification.gateway.LocalStubNotificationProvider;
+import com.turno.los.notification.gateway.NotificationGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loan throughput must not depend on the SMS provider: with every SMS taking
+ * two seconds and failing, submitting and processing a batch of loans takes
+ * about as long as with a healthy provider. Blocking on even one send would
+ * add the full two seconds.
+ * <p>
+ * Processing runs on the test thread ({@link SyncTaskExecutor}), and the
+ * scheduler's poll is pushed out of the way, so each drain is timed directly.
+ */
+@SpringBootTest(properties = {
+    "los.processing.executor=syncProcessingExecutor",
+    "los.processing.poll-interval-ms=3600000",
+    "los.processing.delay-min-seconds=0.02",
+    "los.processing.delay-max-seconds=0.05",
+    "los.archive.enabled=false",
+    "los.journal.dir=${java.io.tmpdir}/turno-los-test-journal-${random.uuid}",
+    "logging.level.com.turno.los=WARN"
+})
+class LoanProcessingUnderSmsDegradationTest {
+    
+    private static final int LOANS_PER_PHASE = 20;
+    private static final long SMS_LATENCY_MS = 2000;
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private LocalStubNotificationProvider.FaultProperties faults;
+    
+    @Autowired
+    private NotificationGateway notificationGateway;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @AfterEach
+    void restoreSmsProvider() {
+        faults.getSms().setLatencyMs(0);
+        faults.getSms().setFailureRate(0.0);
+    }
+    
+    @Test
+    void degradedSmsDoesNotSlowSubmitOrProcessing() {
+        // Healthy provider first, which also warms up the JIT and connection pool
+        Phase healthy = runPhase("healthy");
+        
+        faults.getSms().setLatencyMs(SMS_LATENCY_MS);
+        faults.getSms().setFailureRate(1.0);
+        Phase degraded = runPhase("degraded");
+        
+        assertThat(degraded.maxSubmitMs)
+                .as("slowest submit with SMS degraded")
+                .isLessThan(SMS_LATENCY_MS / 4);
+        assertThat(degraded.drainMs)
+                .as("processing %d loans with SMS degraded vs %d ms healthy", LOANS_PER_PHASE, healthy.drainMs)
+                .isLessThan(healthy.drainMs * 2 + SMS_LATENCY_MS / 2);
+        
+        Timer approvalSms = meterRegistry.find("los.pipeline.notification")
+                .tag("notification", "approval_sms")
+                .timer();
+        assertThat(approvalSms).isNotNull();
+        assertThat(approvalSms.count()).isEqualTo(2L * LOANS_PER_PHASE);
+        assertThat(approvalSms.max(TimeUnit.MILLISECONDS))
+                .as("longest approval SMS dispatch on the processing thread")
+                .isLessThan(SMS_LATENCY_MS / 4);
+        
+        // The degraded sends are still stuck in the SMS channel, not in the pipeline
+        Map<String, Object> sms = notificationGateway.describe().get("sms");
+        assertThat(((Number) sms.get("inFlight")).intValue()).isPositive();
+    }
+    
+    /**
+     * Submit a batch of loans that the business rules approve, each of which
+     * sends an approval SMS, then process the whole batch on this thread.
+     */
+    private Phase runPhase(String name) {
+        List<Long> ids = new ArrayList<>();
+        long maxSubmitNanos = 0;
+        for (int i = 0; i < LOANS_PER_PHASE; i++) {
+            LoanApplicationRequest request = new LoanApplicationRequest("Customer " + name + " " + i,
+                    "+1555000" + String.format("%04d", i), new BigDecimal("10000"), LoanType.PERSONAL);
+            long started = System.nanoTime();
+            ids.add(loanService.submitLoanApplication(request).getId());
+            maxSubmitNanos = Math.max(maxSubmitNanos, System.nanoTime() - started);
+        }
+        
+        long started = System.nanoTime();
+        loanService.processLoansReadyForProcessing();
+        long drainMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        
+        for (Long id : ids) {
+            assertThat(loanService.getLoanById(id))
+                    .hasValueSatisfying(loan -> assertThat(loan.getStatus()).isEqualTo(LoanStatus.APPROVED_BY_SYSTEM));
+        }
+        return new Phase(TimeUnit.NANOSECONDS.toMillis(maxSubmitNanos), drainMs);
+    }
+    
+    private static final class Phase {
+        
+        private final long maxSubmitMs;
+        private final long drainMs;
+        
+        private Phase(long maxSubmitMs, long drainMs) {
+            this.maxSubmitMs = maxSubmitMs;
+            this.drainMs = drainMs;
+        }
+    }
+    
+    @TestConfiguration
+    static class SyncProcessingConfig {
+        
+        @Bean
+        SyncTaskExecutor syncProcessingExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+}